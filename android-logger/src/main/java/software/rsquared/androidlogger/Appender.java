@@ -4,8 +4,6 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.text.TextUtils;
 
-import java.util.Calendar;
-
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
@@ -15,12 +13,20 @@ import lombok.Setter;
  */
 @SuppressWarnings({"unused", "WeakerAccess"})
 public abstract class Appender {
-	private static final int CHUNK_SIZE = 3000;
+	/**
+	 * Default maximum number of characters appended in the single {@link #append(Level, String, String)} call
+	 */
+	static final int DEFAULT_CHUNK_SIZE = 3000;
 
 	@Getter(AccessLevel.PACKAGE)
 	@Setter(AccessLevel.PACKAGE)
 	private String appenderId;
 
+	/**
+	 * Settings of this appender resolved against the global configuration, compiled again when any configuration changes
+	 */
+	@Nullable
+	private volatile EffectiveConfig effectiveConfig;
 
 	protected String getSimpleClassName() {
 		return LoggerUtils.getStackTraceField(LoggerUtils.StackTraceField.SIMPLE_CLASS_NAME);
@@ -57,7 +63,22 @@ public abstract class Appender {
 	}
 
 	protected String getTime() {
-		return String.format(LoggerConfig.getInstance().getTimePattern(), Calendar.getInstance());
+		return LoggerUtils.getTime();
+	}
+
+	/**
+	 * Time in milliseconds when the appended message was logged
+	 */
+	protected long getTimeMillis() {
+		return LoggerUtils.getTimeMillis();
+	}
+
+	/**
+	 * Stack trace element of the code that logged the appended message
+	 */
+	@Nullable
+	protected StackTraceElement getCaller() {
+		return LoggerUtils.getStackTraceElement();
 	}
 
 	/**
@@ -65,8 +86,63 @@ public abstract class Appender {
 	 */
 	protected abstract void append(Level level, String tag, String message);
 
+	/**
+	 * Write messages buffered by the appender, called by {@link LoggerConfig#flush()}
+	 */
+	protected void flush() {
+	}
+
+	/**
+	 * Write buffered messages and release resources held by the appender (e.g. close the opened file), called when the appender
+	 * is removed from the {@link LoggerConfig}. Resources are obtained again if the appender is used later.
+	 */
+	protected void release() {
+	}
+
+	/**
+	 * Append the logged event. Event is reused after this call, so values needed later must be copied.
+	 *
+	 * @param level level of the event overwritten by the configuration of this appender
+	 */
+	protected void append(@NonNull LogEvent event, @NonNull Level level) {
+		append(level, event.getTag(), event.getMessage(), event.getThrowable());
+	}
+
 	protected void append(Level level, Tag tag, Object message, Throwable throwable) {
+		String text = getText(level, message, throwable);
+		String formattedTag = getTag(level, tag);
+		int chunkSize = getEffectiveConfig().chunkSize;
+		if (chunkSize > 0 && text.length() > chunkSize) {
+			int start = 0;
+			while (start < text.length()) {
+				int end = MessageChunker.nextChunkEnd(text, start, chunkSize);
+				append(level, formattedTag, text.substring(start, end));
+				start = end;
+			}
+		} else {
+			append(level, formattedTag, text);
+		}
+	}
+
+	/**
+	 * Formatted message followed by the throwable
+	 */
+	@NonNull
+	protected String getText(Level level, Object message, Throwable throwable) {
 		String msg = getMessage(message, level);
+		String throwableText = throwable == null ? null : getThrowableText(throwable);
+		String separator = TextUtils.isEmpty(msg) || throwable == null ? null : getThrowableSeparator();
+
+		// message and throwable texts are shared by the appenders, so the same instances mean the same text
+		LogEvent event = LoggerUtils.getCurrentEvent();
+		if (event != null && event.throwable == throwable) {
+			RenderedText rendered = event.getRendered(LogEvent.RENDERED_TEXT, msg, separator, throwableText);
+			if (rendered != null) {
+				return rendered.text;
+			}
+		} else {
+			event = null;
+		}
 
 		StringBuilder builder = new StringBuilder();
 		if (!TextUtils.isEmpty(msg)) {
@@ -74,10 +150,10 @@ public abstract class Appender {
 		}
 
 		if (throwable != null) {
-			if (builder.length() > 0) {
-				builder.append(getThrowableSeparator());
+			if (separator != null) {
+				builder.append(separator);
 			}
-			builder.append(LoggerUtils.throwableToString(throwable, logWithStackTrace()));
+			builder.append(throwableText);
 		}
 
 		if (builder.length() == 0) {
@@ -87,45 +163,134 @@ public abstract class Appender {
 				builder.append("[empty log message]");
 			}
 		}
-		if (builder.length() > 0) {
-			String text = builder.toString();
-			String formattedTag = getTag(level, tag);
-			if (text.length() > CHUNK_SIZE) {
-				for (String line : WordUtils.wrap(text, CHUNK_SIZE)) {
-					append(level, formattedTag, line);
-				}
-			} else {
-				append(level, formattedTag, text);
-			}
+		String text = builder.toString();
+		if (event != null) {
+			event.putRendered(LogEvent.RENDERED_TEXT, msg, separator, throwableText, text);
 		}
+		return text;
 	}
 
 	@Nullable
 	protected String getTag(Level level, @Nullable Tag tag) {
-		String result = tag == null ? null : tag.value;
-		if (TextUtils.isEmpty(result) && this instanceof ConfigurableAppender) {
-			AppenderConfig appenderConfig = ((ConfigurableAppender) this).getConfig();
-			if (appenderConfig != null) {
-				result = appenderConfig.getTag();
-			}
+		LogTemplate template = getTagTemplate(tag);
+		if (template == null) {
+			return null;
 		}
-		if (TextUtils.isEmpty(result)) {
-			result = LoggerConfig.getInstance().getDefaultTag();
+		LogEvent event = LoggerUtils.getCurrentEvent();
+		if (event == null || event.tag != tag) {
+			return template.render(level);
 		}
-		if (TextUtils.isEmpty(result)) {
-			return null;
+		RenderedText rendered = event.getRendered(LogEvent.RENDERED_TAG, template, level, null);
+		if (rendered != null) {
+			return rendered.text;
 		}
-		return LoggerUtils.formatTag(result, level);
+		String text = template.render(level);
+		event.putRendered(LogEvent.RENDERED_TAG, template, level, null, text);
+		return text;
 	}
 
-	protected boolean logWithStackTrace() {
-		Config config = LoggerConfig.getInstance();
-		Config appenderConfig = null;
-		if (this instanceof ConfigurableAppender) {
-			appenderConfig = ((ConfigurableAppender) this).getConfig();
+	/**
+	 * Returns pattern of the tag with {@link Logger#CLASS_NAME placeholders} that is used for the message or null if tag is not set
+	 */
+	@Nullable
+	protected String getTagPattern(@Nullable Tag tag) {
+		LogTemplate template = getTagTemplate(tag);
+		return template == null ? null : template.getPattern();
+	}
+
+	/**
+	 * Returns true if the tag used for the message contains placeholders that require {@link #getCaller() caller location}
+	 */
+	protected boolean isCallerRequired(@Nullable Tag tag) {
+		LogTemplate template = getTagTemplate(tag);
+		return template != null && template.needsCaller();
+	}
+
+	@Nullable
+	private LogTemplate getTagTemplate(@Nullable Tag tag) {
+		LogTemplate template = tag == null ? null : tag.getTemplate();
+		return template != null ? template : getEffectiveConfig().tagTemplate;
+	}
+
+	/**
+	 * Current settings of this appender, compiled only if the {@link Config#getVersion() configuration version} changed since the last call
+	 */
+	@NonNull
+	final EffectiveConfig getEffectiveConfig() {
+		EffectiveConfig effectiveConfig = this.effectiveConfig;
+		int version = Config.getVersion();
+		if (effectiveConfig == null || effectiveConfig.version != version) {
+			// version is read before the configs, so a change made during compilation triggers the next one
+			AppenderConfig appenderConfig = this instanceof ConfigurableAppender ? ((ConfigurableAppender) this).getConfig() : null;
+			effectiveConfig = EffectiveConfig.compile(LoggerConfig.getInstance(), appenderConfig, version);
+			this.effectiveConfig = effectiveConfig;
 		}
+		return effectiveConfig;
+	}
 
-		return (appenderConfig == null || appenderConfig.logThrowableWithStackTrace) || config.logThrowableWithStackTrace;
+	/**
+	 * Write messages buffered by the other appender
+	 */
+	protected static void flush(@NonNull Appender appender) {
+		appender.flush();
+	}
+
+	/**
+	 * Returns true if the tag used by the appender for the message requires caller location
+	 */
+	protected static boolean isCallerRequired(@NonNull Appender appender, @Nullable Tag tag) {
+		return appender.isCallerRequired(tag);
+	}
+
+	/**
+	 * Append message that was logged before with the other appender, placeholders are replaced with values of the original message
+	 *
+	 * @param time   time in milliseconds when the message was logged
+	 * @param caller stack trace element of the code that logged the message
+	 */
+	protected static void appendTo(@NonNull Appender appender, @NonNull Level level, @Nullable Tag tag, @Nullable Object message, @Nullable Throwable throwable,
+								   long time, @Nullable StackTraceElement caller) {
+		LogEvent event = LogEvent.obtain();
+		event.set(level, tag, message, throwable);
+		event.time = time;
+		event.setCaller(caller);
+		LogEvent previous = LoggerUtils.setCurrentEvent(event);
+		try {
+			appender.append(event, level);
+		} finally {
+			LoggerUtils.setCurrentEvent(previous);
+			event.recycle();
+		}
+	}
+
+	/**
+	 * Render tag pattern with values of the message that was logged before, e.g. message decoded from the file
+	 *
+	 * @param tag    tag with the pattern
+	 * @param time   time in milliseconds when the message was logged
+	 * @param caller stack trace element of the code that logged the message
+	 */
+	@Nullable
+	protected static String formatTag(@NonNull Tag tag, @NonNull Level level, long time, @Nullable StackTraceElement caller) {
+		LogTemplate template = tag.getTemplate();
+		if (template == null) {
+			return null;
+		}
+		LogEvent event = LogEvent.obtain();
+		event.set(level, tag, null, null);
+		event.time = time;
+		event.setCaller(caller);
+		LogEvent previous = LoggerUtils.setCurrentEvent(event);
+		try {
+			return template.render(level);
+		} finally {
+			LoggerUtils.setCurrentEvent(previous);
+			event.recycle();
+		}
+	}
+
+	protected boolean logWithStackTrace() {
+		return getEffectiveConfig().logWithStackTrace;
 	}
 
 	/**
@@ -134,23 +299,39 @@ public abstract class Appender {
 	protected String getMessage(Object msg, Level level) {
 		if (msg == null) {
 			return null;
-		} else {
+		}
+		LogEvent event = LoggerUtils.getCurrentEvent();
+		if (event == null || event.message != msg) {
 			return LoggerUtils.formatMessage(msg, level);
 		}
+		RenderedText rendered = event.getRendered(LogEvent.RENDERED_MESSAGE, level, null, null);
+		if (rendered != null) {
+			return rendered.text;
+		}
+		String text = LoggerUtils.formatMessage(msg, level);
+		event.putRendered(LogEvent.RENDERED_MESSAGE, level, null, null, text);
+		return text;
 	}
 
-	protected String getThrowableSeparator() {
-		String separator = null;
-		if (this instanceof ConfigurableAppender) {
-			Config appenderConfig = ((ConfigurableAppender) this).getConfig();
-			if (appenderConfig != null) {
-				separator = appenderConfig.getThrowableSeparator();
-			}
+	/**
+	 * Throwable converted to the text, with stack trace if {@link #logWithStackTrace()} is true
+	 */
+	private String getThrowableText(@NonNull Throwable throwable) {
+		boolean withStackTrace = logWithStackTrace();
+		LogEvent event = LoggerUtils.getCurrentEvent();
+		if (event == null || event.throwable != throwable) {
+			return LoggerUtils.throwableToString(throwable, withStackTrace);
 		}
-		if (separator == null) {
-			separator = LoggerConfig.getInstance().getThrowableSeparator();
+		RenderedText rendered = event.getRendered(LogEvent.RENDERED_THROWABLE, withStackTrace ? Boolean.TRUE : Boolean.FALSE, null, null);
+		if (rendered != null) {
+			return rendered.text;
 		}
+		String text = LoggerUtils.throwableToString(throwable, withStackTrace);
+		event.putRendered(LogEvent.RENDERED_THROWABLE, withStackTrace ? Boolean.TRUE : Boolean.FALSE, null, null, text);
+		return text;
+	}
 
-		return separator;
+	protected String getThrowableSeparator() {
+		return getEffectiveConfig().throwableSeparator;
 	}
 }
@@ -22,6 +22,38 @@ public abstract class AppenderConfig<T extends AppenderConfig>  extends Config {
 	@NonNull
 	protected String tag = Logger.CODE_LINE;
 
+	/**
+	 * Template compiled from the {@link #tag}
+	 */
+	@Getter(AccessLevel.PACKAGE)
+	private LogTemplate tagTemplate = LogTemplate.compile(tag);
+
+	/**
+	 * Maximum number of characters appended in the single call, longer messages are split on whitespaces. 0 if messages are not split
+	 */
+	@Getter(AccessLevel.PACKAGE)
+	private int chunkSize = Appender.DEFAULT_CHUNK_SIZE;
+
+	/**
+	 * Number of messages that can wait for this appender on its own background thread, 0 if messages are appended on the logging thread
+	 */
+	@Getter(AccessLevel.PACKAGE)
+	private int queueSize = 0;
+
+	/**
+	 * What should happen with new messages when the queue is full
+	 */
+	@Getter(AccessLevel.PACKAGE)
+	@NonNull
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+	/**
+	 * Minimal level of the message that waits for a free slot when {@link OverflowPolicy#DROP_BELOW_LEVEL} is used
+	 */
+	@Getter(AccessLevel.PACKAGE)
+	@NonNull
+	private Level overflowLevel = Level.WARNING;
+
 	protected AppenderConfig() {
 	}
 
@@ -30,6 +62,8 @@ public abstract class AppenderConfig<T extends AppenderConfig>  extends Config {
 	 */
 	public T setTag(@NonNull String tag){
 		this.tag = tag;
+		this.tagTemplate = LogTemplate.compile(tag);
+		changed();
 		return (T) this;
 	}
 
@@ -39,6 +73,7 @@ public abstract class AppenderConfig<T extends AppenderConfig>  extends Config {
 	 */
 	public T overwriteLevel(@NonNull Level oldLevel, @NonNull Level newLevel) {
 		this.overwrittenLevels.put(oldLevel, newLevel);
+		levelsChanged();
 		return (T) this;
 	}
 
@@ -47,6 +82,7 @@ public abstract class AppenderConfig<T extends AppenderConfig>  extends Config {
 	 */
 	public T removeLevelOverwriting(@NonNull Level level) {
 		this.overwrittenLevels.remove(level);
+		levelsChanged();
 		return (T) this;
 	}
 
@@ -55,6 +91,7 @@ public abstract class AppenderConfig<T extends AppenderConfig>  extends Config {
 	 */
 	public T removeAllLevelOverwrites() {
 		this.overwrittenLevels.clear();
+		levelsChanged();
 		return (T) this;
 	}
 
@@ -63,6 +100,7 @@ public abstract class AppenderConfig<T extends AppenderConfig>  extends Config {
 	 */
 	public T setLevel(@NonNull Level level) {
 		this.level = level;
+		levelsChanged();
 		return (T) this;
 	}
 
@@ -71,6 +109,7 @@ public abstract class AppenderConfig<T extends AppenderConfig>  extends Config {
 	 */
 	public T setLogThrowableWithStackTrace(boolean logThrowableWithStackTrace) {
 		this.logThrowableWithStackTrace = logThrowableWithStackTrace;
+		changed();
 		return (T) this;
 	}
 
@@ -79,6 +118,7 @@ public abstract class AppenderConfig<T extends AppenderConfig>  extends Config {
 	 */
 	public T setSeparator(@NonNull String separator) {
 		this.separator = separator;
+		changed();
 		return (T) this;
 	}
 
@@ -87,8 +127,55 @@ public abstract class AppenderConfig<T extends AppenderConfig>  extends Config {
 	 */
 	public T setThrowableSeparator(@NonNull String throwableSeparator) {
 		this.throwableSeparator = throwableSeparator;
+		changed();
+		return (T) this;
+	}
+
+	/**
+	 * Maximum number of characters appended in the single call, longer messages are split into chunks, preferably after whitespace.
+	 * 0 disables splitting. Default 3000, file appenders don't split messages.
+	 */
+	public T setChunkSize(int chunkSize) {
+		if (chunkSize < 0) {
+			throw new IllegalArgumentException("Chunk size must be greater than or equal to 0");
+		}
+		this.chunkSize = chunkSize;
+		changed();
+		return (T) this;
+	}
+
+	/**
+	 * Append messages on the own background thread of this appender, so a slow appender doesn't stall the logging thread and other appenders.<p>
+	 * Messages wait for the appender in the queue with the specified size, 0 disables the queue (default).
+	 *
+	 * @see #setOverflowPolicy(OverflowPolicy)
+	 */
+	public T setQueueSize(int queueSize) {
+		if (queueSize < 0) {
+			throw new IllegalArgumentException("Queue size must be greater than or equal to 0");
+		}
+		this.queueSize = queueSize;
+		return (T) this;
+	}
+
+	/**
+	 * What should happen with new messages when the queue is full, default {@link OverflowPolicy#BLOCK}
+	 *
+	 * @see #setQueueSize(int)
+	 */
+	public T setOverflowPolicy(@NonNull OverflowPolicy overflowPolicy) {
+		this.overflowPolicy = overflowPolicy;
 		return (T) this;
 	}
+
+	/**
+	 * Minimal level of the message that is never dropped when the {@link OverflowPolicy#DROP_BELOW_LEVEL} policy is used, default {@link Level#WARNING}
+	 */
+	public T setOverflowLevel(@NonNull Level overflowLevel) {
+		this.overflowLevel = overflowLevel;
+		return (T) this;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -96,7 +183,27 @@ public abstract class AppenderConfig<T extends AppenderConfig>  extends Config {
 	protected void read(@NonNull Map<String, String> config) {
 		super.read(config);
 		if (config.containsKey("value")) {
-			tag = config.get("value");
+			setTag(config.get("value"));
+		}
+		if (config.containsKey("chunkSize")) {
+			setChunkSize(Integer.parseInt(config.get("chunkSize")));
+		}
+		if (config.containsKey("queueSize")) {
+			setQueueSize(Integer.parseInt(config.get("queueSize")));
+		}
+		if (config.containsKey("overflowPolicy")) {
+			try {
+				setOverflowPolicy(OverflowPolicy.valueOf(config.get("overflowPolicy")));
+			} catch (Exception e) {
+				throw new IllegalArgumentException("Unknown overflow policy: " + config.get("overflowPolicy"));
+			}
+		}
+		if (config.containsKey("overflowLevel")) {
+			try {
+				setOverflowLevel(Level.valueOf(config.get("overflowLevel")));
+			} catch (Exception e) {
+				throw new IllegalArgumentException("Unknown level: " + config.get("overflowLevel"));
+			}
 		}
 	}
 }
@@ -1,5 +1,7 @@
 package software.rsquared.androidlogger;
 
+import android.support.annotation.Nullable;
+
 import lombok.AccessLevel;
 import lombok.Getter;
 
@@ -18,44 +20,172 @@ public class AppenderLogger extends Logger {
 	@Getter(AccessLevel.PUBLIC)
 	private final Appender appender;
 
+	/**
+	 * Queue of the messages appended on the own thread of the appender, null if messages are appended on the logging thread
+	 *
+	 * @see AppenderConfig#setQueueSize(int)
+	 */
+	@Nullable
+	private volatile AppenderQueue queue;
+
+	/**
+	 * Number of messages dropped by the queues that were already replaced, guarded by this
+	 */
+	private long previouslyDropped;
+
 	AppenderLogger(Appender appender) {
 		this.appender = appender;
 	}
 
 	@Override
 	protected void append(Level level, Tag tag, Object message, Throwable throwable) {
-		if (isLevelAllowed(level)) {
-			appender.append(level, tag, message, throwable);
+		LevelTable levelTable = appender.getEffectiveConfig().levelTable;
+		if (!levelTable.isEnabled(level)) {
+			return;
+		}
+		Level appenderLevel = levelTable.map(level);
+		LogEvent current = LoggerUtils.getCurrentEvent();
+		if (current != null && current.isFor(tag, message, throwable)) {
+			// event shared by all appenders of the logging call
+			append(current, appenderLevel);
+			return;
+		}
+		LogEvent event = LogEvent.obtain();
+		event.set(level, tag, message, throwable);
+		LogEvent previous = LoggerUtils.setCurrentEvent(event);
+		try {
+			append(event, appenderLevel);
+		} finally {
+			LoggerUtils.setCurrentEvent(previous);
+			event.recycle();
 		}
 	}
 
-	private String getSeparator() {
-		String separator = null;
-		if (appender instanceof ConfigurableAppender) {
-			Config appenderConfig = ((ConfigurableAppender) appender).getConfig();
-			if (appenderConfig != null) {
-				separator = appenderConfig.getSeparator();
-			}
+	private void append(LogEvent event, Level level) {
+		AppenderQueue queue = getQueue();
+		if (queue != null && enqueue(queue, event, level)) {
+			return;
 		}
-		if (separator == null){
-			separator = LoggerConfig.getInstance().getSeparator();
+		appender.append(event, level);
+	}
+
+	/**
+	 * Put message into the queue of the appender, time and caller location are captured on the logging thread
+	 *
+	 * @return false if the message must be appended on the calling thread
+	 */
+	private boolean enqueue(AppenderQueue queue, LogEvent event, Level level) {
+		AppenderConfig config = ((ConfigurableAppender) appender).getConfig();
+		Object message = event.message;
+		if (message != null && !(message instanceof String)) {
+			// message object can be changed before the appender appends it
+			message = String.valueOf(message);
 		}
+		StackTraceElement caller = null;
+		if ((message != null && ((String) message).indexOf('$') >= 0) || appender.isCallerRequired(event.tag)) {
+			caller = event.getCaller();
+		}
+		return queue.offer(event, level, (String) message, caller, config.getOverflowPolicy(), config.getOverflowLevel());
+	}
 
-		return separator;
+	@Nullable
+	private AppenderQueue getQueue() {
+		if (!(appender instanceof ConfigurableAppender)) {
+			return null;
+		}
+		AppenderConfig config = ((ConfigurableAppender) appender).getConfig();
+		int size = config == null ? 0 : config.getQueueSize();
+		AppenderQueue queue = this.queue;
+		if (queue == null ? size == 0 : queue.getCapacity() == size) {
+			return queue;
+		}
+		return updateQueue(size);
 	}
 
-	private boolean isLevelAllowed(Level level) {
-		Config config = LoggerConfig.getInstance();
-		Config appenderConfig = null;
-		if (appender instanceof ConfigurableAppender){
-			appenderConfig = ((ConfigurableAppender) appender).getConfig();
+	/**
+	 * Replace queue after the queue size was changed, messages waiting in the old queue are appended first
+	 */
+	@Nullable
+	private synchronized AppenderQueue updateQueue(int size) {
+		AppenderQueue queue = this.queue;
+		if (queue != null && queue.getCapacity() != size) {
+			queue.shutdown(LoggerConfig.ASYNC_DRAIN_TIMEOUT);
+			previouslyDropped += queue.getDroppedCount();
+			queue = null;
+		}
+		if (queue == null && size > 0) {
+			queue = new AppenderQueue(appender, size);
 		}
+		this.queue = queue;
+		return queue;
+	}
 
-		if (config.getOverwrittenLevels().containsKey(level)) {
-			level = config.getOverwrittenLevels().get(level);
+	/**
+	 * Wait until messages waiting in the queue of the appender are appended
+	 *
+	 * @return true if all messages were appended before timeout
+	 */
+	boolean drainQueue(long timeoutMillis) {
+		AppenderQueue queue = this.queue;
+		return queue == null || queue.drain(timeoutMillis);
+	}
+
+	/**
+	 * Append waiting messages and stop the thread of the appender, called when the appender is removed from the configuration
+	 */
+	synchronized void shutdownQueue(long timeoutMillis) {
+		AppenderQueue queue = this.queue;
+		if (queue != null) {
+			queue.shutdown(timeoutMillis);
+			previouslyDropped += queue.getDroppedCount();
+			this.queue = null;
 		}
+	}
+
+	/**
+	 * Number of messages that wait in the queue for the appender, always 0 if the {@link AppenderConfig#setQueueSize(int) queue} is not used
+	 */
+	public int getQueueDepth() {
+		AppenderQueue queue = this.queue;
+		return queue == null ? 0 : queue.getDepth();
+	}
+
+	/**
+	 * Number of messages dropped because the {@link AppenderConfig#setQueueSize(int) queue} of the appender was full
+	 *
+	 * @see AppenderConfig#setOverflowPolicy(OverflowPolicy)
+	 */
+	public long getDroppedCount() {
+		synchronized (this) {
+			AppenderQueue queue = this.queue;
+			return previouslyDropped + (queue == null ? 0 : queue.getDroppedCount());
+		}
+	}
+
+	private String getSeparator() {
+		return appender.getEffectiveConfig().separator;
+	}
+
+	private void appendFormatted(Level level, Tag tag, String format, Object[] args) {
+		if (isLevelAllowed(level)) {
+			append(level, tag, LazyMessage.format(format, args), null);
+		}
+	}
+
+	private void appendJoined(Level level, Tag tag, Object[] parts) {
+		if (isLevelAllowed(level)) {
+			append(level, tag, LazyMessage.join(getSeparator(), parts), null);
+		}
+	}
 
-		return config.isLevelAllowed(level) && (appenderConfig == null || appenderConfig.isLevelAllowed(level));
+	private void appendSupplied(Level level, Tag tag, MessageSupplier supplier) {
+		if (isLevelAllowed(level)) {
+			append(level, tag, LazyMessage.supply(supplier), null);
+		}
+	}
+
+	boolean isLevelAllowed(Level level) {
+		return appender.getEffectiveConfig().levelTable.isEnabled(level);
 	}
 
 	/**
@@ -74,12 +204,28 @@ public class AppenderLogger extends Logger {
 		append(INFO, tag, message, null);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void iL(MessageSupplier supplier) {
+		appendSupplied(INFO, null, supplier);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void iL(Tag tag, MessageSupplier supplier) {
+		appendSupplied(INFO, tag, supplier);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public void iF(String message, Object... args) {
-		append(INFO, null, String.format(message, args), null);
+		appendFormatted(INFO, null, message, args);
 	}
 
 	/**
@@ -87,7 +233,7 @@ public class AppenderLogger extends Logger {
 	 */
 	@Override
 	public void iF(Tag tag, String message, Object... args) {
-		append(INFO, tag, String.format(message, args), null);
+		appendFormatted(INFO, tag, message, args);
 	}
 
 	/**
@@ -95,7 +241,7 @@ public class AppenderLogger extends Logger {
 	 */
 	@Override
 	public void i(Object... message) {
-		append(INFO, null, LoggerUtils.array2String(getSeparator(), message), null);
+		appendJoined(INFO, null, message);
 	}
 
 	/**
@@ -103,7 +249,7 @@ public class AppenderLogger extends Logger {
 	 */
 	@Override
 	public void i(Tag tag, Object... message) {
-		append(INFO, tag, LoggerUtils.array2String(getSeparator(), message), null);
+		appendJoined(INFO, tag, message);
 	}
 
 	/**
@@ -154,12 +300,28 @@ public class AppenderLogger extends Logger {
 		append(ERROR, tag, message, null);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void eL(MessageSupplier supplier) {
+		appendSupplied(ERROR, null, supplier);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void eL(Tag tag, MessageSupplier supplier) {
+		appendSupplied(ERROR, tag, supplier);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public void eF(String message, Object... args) {
-		append(ERROR, null, String.format(message, args), null);
+		appendFormatted(ERROR, null, message, args);
 	}
 
 	/**
@@ -167,7 +329,7 @@ public class AppenderLogger extends Logger {
 	 */
 	@Override
 	public void eF(Tag tag, String message, Object... args) {
-		append(ERROR, tag, String.format(message, args), null);
+		appendFormatted(ERROR, tag, message, args);
 	}
 
 	/**
@@ -175,7 +337,7 @@ public class AppenderLogger extends Logger {
 	 */
 	@Override
 	public void e(Object... message) {
-		append(ERROR, null, LoggerUtils.array2String(getSeparator(), message), null);
+		appendJoined(ERROR, null, message);
 	}
 
 	/**
@@ -183,7 +345,7 @@ public class AppenderLogger extends Logger {
 	 */
 	@Override
 	public void e(Tag tag, Object... message) {
-		append(ERROR, tag, LoggerUtils.array2String(getSeparator(), message), null);
+		appendJoined(ERROR, tag, message);
 	}
 
 	/**
@@ -234,12 +396,28 @@ public class AppenderLogger extends Logger {
 		append(DEBUG, tag, message, null);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void dL(MessageSupplier supplier) {
+		appendSupplied(DEBUG, null, supplier);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void dL(Tag tag, MessageSupplier supplier) {
+		appendSupplied(DEBUG, tag, supplier);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public void dF(String message, Object... args) {
-		append(DEBUG, null, String.format(message, args), null);
+		appendFormatted(DEBUG, null, message, args);
 	}
 
 	/**
@@ -247,7 +425,7 @@ public class AppenderLogger extends Logger {
 	 */
 	@Override
 	public void dF(Tag tag, String message, Object... args) {
-		append(DEBUG, tag, String.format(message, args), null);
+		appendFormatted(DEBUG, tag, message, args);
 	}
 
 	/**
@@ -255,7 +433,7 @@ public class AppenderLogger extends Logger {
 	 */
 	@Override
 	public void d(Object... message) {
-		append(DEBUG, null, LoggerUtils.array2String(getSeparator(), message), null);
+		appendJoined(DEBUG, null, message);
 	}
 
 	/**
@@ -263,7 +441,7 @@ public class AppenderLogger extends Logger {
 	 */
 	@Override
 	public void d(Tag tag, Object... message) {
-		append(DEBUG, tag, LoggerUtils.array2String(getSeparator(), message), null);
+		appendJoined(DEBUG, tag, message);
 	}
 
 	/**
@@ -314,12 +492,28 @@ public class AppenderLogger extends Logger {
 		append(VERBOSE, tag, message, null);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void vL(MessageSupplier supplier) {
+		appendSupplied(VERBOSE, null, supplier);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void vL(Tag tag, MessageSupplier supplier) {
+		appendSupplied(VERBOSE, tag, supplier);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public void vF(String message, Object... args) {
-		append(VERBOSE, null, String.format(message, args), null);
+		appendFormatted(VERBOSE, null, message, args);
 	}
 
 	/**
@@ -327,7 +521,7 @@ public class AppenderLogger extends Logger {
 	 */
 	@Override
 	public void vF(Tag tag, String message, Object... args) {
-		append(VERBOSE, tag, String.format(message, args), null);
+		appendFormatted(VERBOSE, tag, message, args);
 	}
 
 	/**
@@ -335,7 +529,7 @@ public class AppenderLogger extends Logger {
 	 */
 	@Override
 	public void v(Object... message) {
-		append(VERBOSE, null, LoggerUtils.array2String(getSeparator(), message), null);
+		appendJoined(VERBOSE, null, message);
 	}
 
 	/**
@@ -343,7 +537,7 @@ public class AppenderLogger extends Logger {
 	 */
 	@Override
 	public void v(Tag tag, Object... message) {
-		append(VERBOSE, tag, LoggerUtils.array2String(getSeparator(), message), null);
+		appendJoined(VERBOSE, tag, message);
 	}
 
 	/**
@@ -394,12 +588,28 @@ public class AppenderLogger extends Logger {
 		append(WARNING, tag, message, null);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void wL(MessageSupplier supplier) {
+		appendSupplied(WARNING, null, supplier);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void wL(Tag tag, MessageSupplier supplier) {
+		appendSupplied(WARNING, tag, supplier);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public void wF(String message, Object... args) {
-		append(WARNING, null, String.format(message, args), null);
+		appendFormatted(WARNING, null, message, args);
 	}
 
 	/**
@@ -407,7 +617,7 @@ public class AppenderLogger extends Logger {
 	 */
 	@Override
 	public void wF(Tag tag, String message, Object... args) {
-		append(WARNING, tag, String.format(message, args), null);
+		appendFormatted(WARNING, tag, message, args);
 	}
 
 	/**
@@ -415,7 +625,7 @@ public class AppenderLogger extends Logger {
 	 */
 	@Override
 	public void w(Object... message) {
-		append(WARNING, null, LoggerUtils.array2String(getSeparator(), message), null);
+		appendJoined(WARNING, null, message);
 	}
 
 	/**
@@ -423,7 +633,7 @@ public class AppenderLogger extends Logger {
 	 */
 	@Override
 	public void w(Tag tag, Object... message) {
-		append(WARNING, tag, LoggerUtils.array2String(getSeparator(), message), null);
+		appendJoined(WARNING, tag, message);
 	}
 
 	/**
@@ -0,0 +1,233 @@
+package software.rsquared.androidlogger;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import software.rsquared.androidlogger.logcat.LogcatAppender;
+
+/**
+ * Bounded queue of messages appended with the single appender on its own background thread.<p>
+ * Slots are preallocated {@link LogEvent events}, the worker copies the oldest event out of the queue before appending it,
+ * so the logging threads never wait for the appender itself but only for a free slot.
+ * When the queue is full the {@link OverflowPolicy} decides whether the logging thread waits or the message is dropped.
+ *
+ * @author Rafał Zajfert
+ * @see AppenderConfig#setQueueSize(int)
+ */
+final class AppenderQueue {
+
+	private static final Logger logger = Logger.createWith(new LogcatAppender());
+
+	private static final String THREAD_NAME = "AndroidLogger-appender-";
+
+	private final Appender appender;
+
+	private final LogEvent[] ring;
+
+	private final Worker worker;
+
+	private final Object lock = new Object();
+
+	/**
+	 * Sequence of the next queued event, guarded by {@link #lock}
+	 */
+	private long head;
+
+	/**
+	 * Sequence of the next event taken by the worker, guarded by {@link #lock}
+	 */
+	private long tail;
+
+	/**
+	 * Number of queued events that were appended or dropped, guarded by {@link #lock}
+	 */
+	private long completed;
+
+	/**
+	 * Guarded by {@link #lock}
+	 */
+	private boolean running = true;
+
+	private volatile long droppedCount;
+
+	AppenderQueue(@NonNull Appender appender, int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Queue size must be greater than 0");
+		}
+		this.appender = appender;
+		this.ring = new LogEvent[capacity];
+		for (int i = 0; i < capacity; i++) {
+			ring[i] = new LogEvent();
+		}
+		this.worker = new Worker(appender.getAppenderId());
+		worker.start();
+	}
+
+	int getCapacity() {
+		return ring.length;
+	}
+
+	/**
+	 * Number of messages that wait for the appender, including the message that is appended right now
+	 */
+	int getDepth() {
+		synchronized (lock) {
+			return (int) (head - completed);
+		}
+	}
+
+	/**
+	 * Number of messages dropped because the queue was full
+	 */
+	long getDroppedCount() {
+		return droppedCount;
+	}
+
+	/**
+	 * Put message into the queue
+	 *
+	 * @return false if the message was not queued and must be appended on the calling thread
+	 */
+	boolean offer(@NonNull LogEvent source, @NonNull Level level, @Nullable String message, @Nullable StackTraceElement caller,
+				  @NonNull OverflowPolicy policy, @NonNull Level overflowLevel) {
+		if (Thread.currentThread() == worker) {
+			// message logged by the appender, waiting for the own free slot would never end
+			return false;
+		}
+		synchronized (lock) {
+			boolean interrupted = false;
+			while (running && head - tail >= ring.length) {
+				if (policy == OverflowPolicy.DROP_OLDEST) {
+					ring[index(tail)].clear();
+					tail++;
+					completed++;
+					droppedCount++;
+					break;
+				}
+				if (policy == OverflowPolicy.DROP_BELOW_LEVEL && level.ordinal() < overflowLevel.ordinal()) {
+					droppedCount++;
+					return true;
+				}
+				try {
+					lock.wait();
+				} catch (InterruptedException e) {
+					interrupted = true;
+					break;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			if (!running) {
+				return false;
+			}
+			LogEvent event = ring[index(head)];
+			event.copyFrom(source);
+			event.level = level;
+			event.message = message;
+			event.setCaller(caller);
+			head++;
+			lock.notifyAll();
+			return true;
+		}
+	}
+
+	/**
+	 * Wait until all messages queued before this call are appended
+	 *
+	 * @return true if all messages were appended before timeout
+	 */
+	boolean drain(long timeoutMillis) {
+		if (Thread.currentThread() == worker) {
+			return false;
+		}
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		synchronized (lock) {
+			long target = head;
+			while (completed < target) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					return false;
+				}
+				try {
+					lock.wait(remaining);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Stop the worker thread after all queued messages are appended. Messages offered after shutdown are rejected.
+	 */
+	void shutdown(long timeoutMillis) {
+		drain(timeoutMillis);
+		synchronized (lock) {
+			running = false;
+			lock.notifyAll();
+		}
+	}
+
+	private int index(long sequence) {
+		return (int) (sequence % ring.length);
+	}
+
+	private final class Worker extends Thread {
+
+		private final LogEvent event = new LogEvent();
+
+		Worker(@Nullable String appenderId) {
+			super(THREAD_NAME + (appenderId == null ? appender.getClass().getSimpleName() : appenderId));
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+			boolean appended = false;
+			while (true) {
+				synchronized (lock) {
+					if (appended) {
+						completed++;
+						appended = false;
+						lock.notifyAll();
+					}
+					while (running && tail >= head) {
+						try {
+							lock.wait();
+						} catch (InterruptedException ignored) {
+						}
+					}
+					if (tail >= head) {
+						return;
+					}
+					LogEvent slot = ring[index(tail)];
+					event.copyFrom(slot);
+					slot.clear();
+					tail++;
+					lock.notifyAll();
+				}
+
+				append();
+				appended = true;
+			}
+		}
+
+		private void append() {
+			LogEvent previous = LoggerUtils.setCurrentEvent(event);
+			try {
+				appender.append(event, event.level);
+			} catch (RuntimeException e) {
+				// worker thread must survive failure of the appender
+				logger.e("Cannot append log message", e);
+			} finally {
+				LoggerUtils.setCurrentEvent(previous);
+				event.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,287 @@
+package software.rsquared.androidlogger;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import software.rsquared.androidlogger.logcat.LogcatAppender;
+
+/**
+ * Dispatcher that appends messages on background threads.<p>
+ * Messages are stored in the preallocated ring buffer of {@link LogEvent events}. Each consumer thread reads all events from the buffer
+ * but appends them only with its own subset of the loggers, so the messages of a single appender are always appended in the order they were logged.
+ * If the buffer is full the logging thread waits until the slowest consumer frees a slot.
+ *
+ * @author Rafał Zajfert
+ */
+final class AsyncDispatcher {
+
+	private static final Logger logger = Logger.createWith(new LogcatAppender());
+
+	private static final String THREAD_NAME = "AndroidLogger-async-";
+
+	private final LoggerConfig config;
+
+	private final LogEvent[] ring;
+
+	private final int mask;
+
+	private final Consumer[] consumers;
+
+	private final Object lock = new Object();
+
+	/**
+	 * Sequence of the next published event, guarded by {@link #lock}
+	 */
+	private long head;
+
+	/**
+	 * Sequence of the first event that was not cleared yet, guarded by {@link #lock}
+	 */
+	private long cleared;
+
+	/**
+	 * Guarded by {@link #lock}
+	 */
+	private boolean running = true;
+
+	AsyncDispatcher(@NonNull LoggerConfig config, int bufferSize, int consumerCount) {
+		if (bufferSize < 1) {
+			throw new IllegalArgumentException("Buffer size must be greater than 0");
+		}
+		if (consumerCount < 1) {
+			throw new IllegalArgumentException("Consumer count must be greater than 0");
+		}
+		int capacity = 1;
+		while (capacity < bufferSize) {
+			capacity <<= 1;
+		}
+		this.config = config;
+		this.ring = new LogEvent[capacity];
+		for (int i = 0; i < capacity; i++) {
+			ring[i] = new LogEvent();
+		}
+		this.mask = capacity - 1;
+		this.consumers = new Consumer[consumerCount];
+		for (int i = 0; i < consumerCount; i++) {
+			consumers[i] = new Consumer(i);
+			consumers[i].start();
+		}
+	}
+
+	/**
+	 * Put message into the buffer. Caller location and time are resolved on the calling thread.
+	 */
+	void publish(Level level, @Nullable Tag tag, @Nullable Object message, @Nullable Throwable throwable) {
+		if (Thread.currentThread() instanceof Consumer) {
+			// message logged by an appender, appending it here prevents waiting for the own free slot
+			appendNow(level, tag, message, throwable);
+			return;
+		}
+		if (!isAccepted(level)) {
+			// lazy message is not rendered if none of the appenders accepts it
+			return;
+		}
+		if (message != null && !(message instanceof String)) {
+			// message object can be changed before the consumer appends it
+			message = String.valueOf(message);
+		}
+		StackTraceElement caller = needsCaller(tag, (String) message) ? LoggerUtils.findCaller() : null;
+
+		synchronized (lock) {
+			boolean interrupted = false;
+			while (running && head - getMinSequence() >= ring.length) {
+				try {
+					lock.wait();
+				} catch (InterruptedException e) {
+					interrupted = true;
+					break;
+				}
+			}
+			if (running && !interrupted) {
+				LogEvent event = ring[(int) (head & mask)];
+				event.set(level, tag, message, throwable);
+				event.setCaller(caller);
+				head++;
+				lock.notifyAll();
+				return;
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		appendNow(level, tag, message, throwable);
+	}
+
+	/**
+	 * Checks if any appender accepts the level
+	 */
+	private boolean isAccepted(Level level) {
+		for (Logger logger : config.getLoggers()) {
+			if (!(logger instanceof AppenderLogger) || ((AppenderLogger) logger).isLevelAllowed(level)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if any appender will need caller location, which must be captured on the logging thread
+	 */
+	private boolean needsCaller(@Nullable Tag tag, @Nullable String message) {
+		if (message != null && message.indexOf('$') >= 0) {
+			return true;
+		}
+		LogTemplate template = tag == null ? null : tag.getTemplate();
+		if (template != null) {
+			return template.needsCaller();
+		}
+		for (Logger logger : config.getLoggers()) {
+			Appender appender = logger instanceof AppenderLogger ? ((AppenderLogger) logger).getAppender() : null;
+			if (!(appender instanceof ConfigurableAppender)) {
+				// custom appender can read caller location directly
+				return true;
+			}
+			template = appender.getEffectiveConfig().tagTemplate;
+			if (template != null && template.needsCaller()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Wait until all messages published before this call are appended
+	 *
+	 * @return true if all messages were appended before timeout
+	 */
+	boolean drain(long timeoutMillis) {
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		synchronized (lock) {
+			long target = head;
+			while (getMinSequence() < target) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					return false;
+				}
+				try {
+					lock.wait(remaining);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Stop consumer threads after all published messages are appended. Messages published after shutdown are appended on the calling thread.
+	 */
+	void shutdown(long timeoutMillis) {
+		drain(timeoutMillis);
+		synchronized (lock) {
+			running = false;
+			lock.notifyAll();
+		}
+	}
+
+	/**
+	 * Guarded by {@link #lock}
+	 */
+	private long getMinSequence() {
+		long min = Long.MAX_VALUE;
+		for (Consumer consumer : consumers) {
+			min = Math.min(min, consumer.sequence);
+		}
+		return min;
+	}
+
+	/**
+	 * Clear events appended by all consumers, so the buffer doesn't keep messages and throwables after they were appended.
+	 * Guarded by {@link #lock}, the publisher reuses the slot only after the minimum sequence passed it.
+	 */
+	private void clearAppended() {
+		long min = getMinSequence();
+		for (; cleared < min; cleared++) {
+			ring[(int) (cleared & mask)].clear();
+		}
+	}
+
+	private void appendNow(Level level, @Nullable Tag tag, @Nullable Object message, @Nullable Throwable throwable) {
+		Logger.appendToLoggers(config, level, tag, message, throwable);
+	}
+
+	private final class Consumer extends Thread {
+
+		private final int index;
+
+		/**
+		 * Sequence of the next event to append
+		 */
+		private volatile long sequence;
+
+		Consumer(int index) {
+			super(THREAD_NAME + index);
+			this.index = index;
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+			while (true) {
+				long available;
+				synchronized (lock) {
+					while (running && sequence >= head) {
+						try {
+							lock.wait();
+						} catch (InterruptedException ignored) {
+						}
+					}
+					if (!running && sequence >= head) {
+						return;
+					}
+					available = head;
+				}
+
+				for (long seq = sequence; seq < available; seq++) {
+					append(ring[(int) (seq & mask)]);
+				}
+
+				synchronized (lock) {
+					sequence = available;
+					clearAppended();
+					lock.notifyAll();
+				}
+			}
+		}
+
+		private void append(LogEvent event) {
+			RuntimeException error = null;
+			LogEvent previous = LoggerUtils.setCurrentEvent(event);
+			try {
+				Logger[] loggers = config.getLoggers();
+				for (int i = 0; i < loggers.length; i++) {
+					Logger appenderLogger = loggers[i];
+					if (isOwnLogger(appenderLogger)) {
+						try {
+							appenderLogger.append(event.level, event.tag, event.message, event.throwable);
+						} catch (RuntimeException e) {
+							// consumer thread must survive failure of a single appender
+							error = e;
+						}
+					}
+				}
+			} finally {
+				LoggerUtils.setCurrentEvent(previous);
+			}
+			if (error != null) {
+				logger.e("Cannot append log message", error);
+			}
+		}
+
+		private boolean isOwnLogger(Logger logger) {
+			return consumers.length == 1 || (System.identityHashCode(logger) & Integer.MAX_VALUE) % consumers.length == index;
+		}
+	}
+}
@@ -48,6 +48,47 @@ abstract class BaseLogger {
 	 */
 	public abstract void i(Tag tag, Object message);
 
+	/**
+	 * Send an {@link Level#INFO INFO} message created by the supplier.
+	 * Supplier is called only if this logger will append the message<p>
+	 * <p><b>Note </b> this method will append log only with this instance of logger. If you want append log with all the appenders please use {@link Logger#infoL(MessageSupplier)} method instead<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param supplier supplier of the message to send
+	 */
+	public abstract void iL(MessageSupplier supplier);
+
+	/**
+	 * Send an {@link Level#INFO INFO} message created by the supplier.
+	 * Supplier is called only if this logger will append the message<p>
+	 * <p><b>Note </b> this method will append log only with this instance of logger. If you want append log with all the appenders please use {@link Logger#infoL(Tag, MessageSupplier)} method instead<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param tag custom value of the log
+	 * @param supplier supplier of the message to send
+	 */
+	public abstract void iL(Tag tag, MessageSupplier supplier);
+
 	/**
 	 * Send an {@link Level#INFO INFO} message formatted with args objects<p>
 	 * <p><b>Note </b> this method will append log only with this instance of logger. If you want append log with all the appenders please use {@link Logger#info(Object)} method instead<p>
@@ -232,6 +273,47 @@ abstract class BaseLogger {
 	 */
 	public abstract void e(Tag tag, Object message);
 
+	/**
+	 * Send an {@link Level#ERROR ERROR} message created by the supplier.
+	 * Supplier is called only if this logger will append the message<p>
+	 * <p><b>Note </b> this method will append log only with this instance of logger. If you want append log with all the appenders please use {@link Logger#errorL(MessageSupplier)} method instead<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param supplier supplier of the message to send
+	 */
+	public abstract void eL(MessageSupplier supplier);
+
+	/**
+	 * Send an {@link Level#ERROR ERROR} message created by the supplier.
+	 * Supplier is called only if this logger will append the message<p>
+	 * <p><b>Note </b> this method will append log only with this instance of logger. If you want append log with all the appenders please use {@link Logger#errorL(Tag, MessageSupplier)} method instead<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param tag custom value of the log
+	 * @param supplier supplier of the message to send
+	 */
+	public abstract void eL(Tag tag, MessageSupplier supplier);
+
 	/**
 	 * Send an {@link Level#ERROR ERROR} message formatted with args objects<p>
 	 * <p><b>Note </b> this method will append log only with this instance of logger. If you want append log with all the appenders please use {@link Logger#error(Object)} method instead<p>
@@ -416,6 +498,47 @@ abstract class BaseLogger {
 	 */
 	public abstract void d(Tag tag, Object message);
 
+	/**
+	 * Send an {@link Level#DEBUG DEBUG} message created by the supplier.
+	 * Supplier is called only if this logger will append the message<p>
+	 * <p><b>Note </b> this method will append log only with this instance of logger. If you want append log with all the appenders please use {@link Logger#debugL(MessageSupplier)} method instead<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param supplier supplier of the message to send
+	 */
+	public abstract void dL(MessageSupplier supplier);
+
+	/**
+	 * Send an {@link Level#DEBUG DEBUG} message created by the supplier.
+	 * Supplier is called only if this logger will append the message<p>
+	 * <p><b>Note </b> this method will append log only with this instance of logger. If you want append log with all the appenders please use {@link Logger#debugL(Tag, MessageSupplier)} method instead<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param tag custom value of the log
+	 * @param supplier supplier of the message to send
+	 */
+	public abstract void dL(Tag tag, MessageSupplier supplier);
+
 	/**
 	 * Send an {@link Level#DEBUG DEBUG} message formatted with args objects<p>
 	 * <p><b>Note </b> this method will append log only with this instance of logger. If you want append log with all the appenders please use {@link Logger#debug(Object)} method instead<p>
@@ -600,6 +723,47 @@ abstract class BaseLogger {
 	 */
 	public abstract void v(Tag tag, Object message);
 
+	/**
+	 * Send an {@link Level#VERBOSE VERBOSE} message created by the supplier.
+	 * Supplier is called only if this logger will append the message<p>
+	 * <p><b>Note </b> this method will append log only with this instance of logger. If you want append log with all the appenders please use {@link Logger#verboseL(MessageSupplier)} method instead<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param supplier supplier of the message to send
+	 */
+	public abstract void vL(MessageSupplier supplier);
+
+	/**
+	 * Send an {@link Level#VERBOSE VERBOSE} message created by the supplier.
+	 * Supplier is called only if this logger will append the message<p>
+	 * <p><b>Note </b> this method will append log only with this instance of logger. If you want append log with all the appenders please use {@link Logger#verboseL(Tag, MessageSupplier)} method instead<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param tag custom value of the log
+	 * @param supplier supplier of the message to send
+	 */
+	public abstract void vL(Tag tag, MessageSupplier supplier);
+
 	/**
 	 * Send an {@link Level#VERBOSE VERBOSE} message formatted with args objects<p>
 	 * <p><b>Note </b> this method will append log only with this instance of logger. If you want append log with all the appenders please use {@link Logger#verbose(Object)} method instead<p>
@@ -784,6 +948,47 @@ abstract class BaseLogger {
 	 */
 	public abstract void w(Tag tag, Object message);
 
+	/**
+	 * Send an {@link Level#WARNING WARNING} message created by the supplier.
+	 * Supplier is called only if this logger will append the message<p>
+	 * <p><b>Note </b> this method will append log only with this instance of logger. If you want append log with all the appenders please use {@link Logger#warningL(MessageSupplier)} method instead<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param supplier supplier of the message to send
+	 */
+	public abstract void wL(MessageSupplier supplier);
+
+	/**
+	 * Send an {@link Level#WARNING WARNING} message created by the supplier.
+	 * Supplier is called only if this logger will append the message<p>
+	 * <p><b>Note </b> this method will append log only with this instance of logger. If you want append log with all the appenders please use {@link Logger#warningL(Tag, MessageSupplier)} method instead<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param tag custom value of the log
+	 * @param supplier supplier of the message to send
+	 */
+	public abstract void wL(Tag tag, MessageSupplier supplier);
+
 	/**
 	 * Send an {@link Level#WARNING WARNING} message formatted with args objects<p>
 	 * <p><b>Note </b> this method will append log only with this instance of logger. If you want append log with all the appenders please use {@link Logger#warning(Object)} method instead<p>
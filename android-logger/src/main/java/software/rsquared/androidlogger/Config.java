@@ -5,6 +5,7 @@ import android.support.annotation.NonNull;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -14,6 +15,11 @@ import lombok.Getter;
  */
 abstract class Config {
 
+	/**
+	 * Incremented after every change of any configuration, {@link EffectiveConfig effective configurations} of the appenders are compiled again when it changes
+	 */
+	private static final AtomicInteger version = new AtomicInteger();
+
 	/**
 	 * Map of the {@link Level levels} that should be logged as other {@link Level}.
 	 * This is useful on devices that blocked specified levels, e.g. Sony block {@link Level#VERBOSE} and {@link Level#DEBUG}
@@ -48,6 +54,32 @@ abstract class Config {
 	@NonNull
 	String throwableSeparator = Logger.NEW_LINE;
 
+	/**
+	 * {@link #overwrittenLevels} and {@link #level} compiled in the {@link #levelsChanged()}
+	 */
+	@Getter(AccessLevel.PACKAGE)
+	@NonNull
+	private volatile LevelTable levelTable = LevelTable.compile(this);
+
+	static int getVersion() {
+		return version.get();
+	}
+
+	/**
+	 * Must be called after every change of the value used by the {@link EffectiveConfig}
+	 */
+	void changed() {
+		version.incrementAndGet();
+	}
+
+	/**
+	 * Compile the {@link #levelTable} again, must be called after every change of the {@link #level} or the {@link #overwrittenLevels}
+	 */
+	void levelsChanged() {
+		levelTable = LevelTable.compile(this);
+		changed();
+	}
+
 	/**
 	 * Chack if current configuration allows to append log
 	 */
@@ -62,9 +94,11 @@ abstract class Config {
 	protected void read(@NonNull Map<String, String> config) {
 		if (config.containsKey("separator")) {
 			separator = config.get("separator");
+			changed();
 		}
 		if (config.containsKey("throwableSeparator")) {
 			throwableSeparator = config.get("throwableSeparator");
+			changed();
 		}
 		if (config.containsKey("level")) {
 			try {
@@ -72,9 +106,11 @@ abstract class Config {
 			} catch (Exception e) {
 				throw new IllegalArgumentException("Unknown level: " + config.get("level"));
 			}
+			levelsChanged();
 		}
 		if (config.containsKey("logThrowableWithStackTrace")) {
 			logThrowableWithStackTrace = Boolean.parseBoolean(config.get("logThrowableWithStackTrace"));
+			changed();
 		}
 	}
 }
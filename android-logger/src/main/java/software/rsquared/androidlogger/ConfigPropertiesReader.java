@@ -23,7 +23,7 @@ import software.rsquared.androidlogger.logcat.LogcatAppender;
  */
 public class ConfigPropertiesReader {
     private static final String LOGGER_CONFIG_PREFIX = "logger";
-    private static final Set<String> RESERVED_PROPERTIES = new HashSet<>(Arrays.asList(LOGGER_CONFIG_PREFIX + ".level", LOGGER_CONFIG_PREFIX + ".separator", LOGGER_CONFIG_PREFIX + ".throwableSeparator", LOGGER_CONFIG_PREFIX + ".appenderId", LOGGER_CONFIG_PREFIX + ".logThrowableWithStackTrace", LOGGER_CONFIG_PREFIX + ".timePattern", LOGGER_CONFIG_PREFIX + ".catchUncaughtExceptions", LOGGER_CONFIG_PREFIX + ".useANRWatchDog"));
+    private static final Set<String> RESERVED_PROPERTIES = new HashSet<>(Arrays.asList(LOGGER_CONFIG_PREFIX + ".level", LOGGER_CONFIG_PREFIX + ".separator", LOGGER_CONFIG_PREFIX + ".throwableSeparator", LOGGER_CONFIG_PREFIX + ".appenderId", LOGGER_CONFIG_PREFIX + ".logThrowableWithStackTrace", LOGGER_CONFIG_PREFIX + ".timePattern", LOGGER_CONFIG_PREFIX + ".catchUncaughtExceptions", LOGGER_CONFIG_PREFIX + ".useANRWatchDog", LOGGER_CONFIG_PREFIX + ".asyncDispatch", LOGGER_CONFIG_PREFIX + ".asyncBufferSize", LOGGER_CONFIG_PREFIX + ".asyncConsumerCount", LOGGER_CONFIG_PREFIX + ".throwableMaxDepth", LOGGER_CONFIG_PREFIX + ".throwableExcludedPackages", LOGGER_CONFIG_PREFIX + ".rateLimits"));
     private final Logger logger = Logger.createWith(new LogcatAppender());
 
     private Map<String, Logger> loggerMap = new HashMap<>();
@@ -60,6 +60,12 @@ public class ConfigPropertiesReader {
         addConfigProperty(properties, LOGGER_CONFIG_PREFIX + ".timePattern");
         addConfigProperty(properties, LOGGER_CONFIG_PREFIX + ".catchUncaughtExceptions");
         addConfigProperty(properties, LOGGER_CONFIG_PREFIX + ".useANRWatchDog");
+        addConfigProperty(properties, LOGGER_CONFIG_PREFIX + ".asyncDispatch");
+        addConfigProperty(properties, LOGGER_CONFIG_PREFIX + ".asyncBufferSize");
+        addConfigProperty(properties, LOGGER_CONFIG_PREFIX + ".asyncConsumerCount");
+        addConfigProperty(properties, LOGGER_CONFIG_PREFIX + ".throwableMaxDepth");
+        addConfigProperty(properties, LOGGER_CONFIG_PREFIX + ".throwableExcludedPackages");
+        addConfigProperty(properties, LOGGER_CONFIG_PREFIX + ".rateLimits");
     }
 
     private void loadProperties(Context context, Properties properties, @RawRes int propertiesRes) {
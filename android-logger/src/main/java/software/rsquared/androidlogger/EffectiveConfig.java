@@ -0,0 +1,78 @@
+package software.rsquared.androidlogger;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Immutable settings of the single appender resolved against the global {@link LoggerConfig}.<p>
+ * Snapshot is compiled by the {@link Appender} when the {@link Config#getVersion() configuration version} changes and replaced as a whole,
+ * so the logging threads read only final fields and never see a partially updated configuration.
+ *
+ * @author Rafał Zajfert
+ */
+final class EffectiveConfig {
+
+	/**
+	 * {@link Config#getVersion() Configuration version} that was current when the snapshot was compiled
+	 */
+	final int version;
+
+	@NonNull
+	final LevelTable levelTable;
+
+	/**
+	 * Template of the appender tag or the default tag, used if the message has no own tag
+	 */
+	@Nullable
+	final LogTemplate tagTemplate;
+
+	final boolean logWithStackTrace;
+
+	@NonNull
+	final String separator;
+
+	@NonNull
+	final String throwableSeparator;
+
+	/**
+	 * Maximum number of characters appended in the single call, 0 if messages are not split
+	 */
+	final int chunkSize;
+
+	private EffectiveConfig(int version, @NonNull LevelTable levelTable, @Nullable LogTemplate tagTemplate, boolean logWithStackTrace,
+							@NonNull String separator, @NonNull String throwableSeparator, int chunkSize) {
+		this.version = version;
+		this.levelTable = levelTable;
+		this.tagTemplate = tagTemplate;
+		this.logWithStackTrace = logWithStackTrace;
+		this.separator = separator;
+		this.throwableSeparator = throwableSeparator;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Resolve settings of the appender config against the global config
+	 *
+	 * @param appenderConfig config of the appender, null if the appender isn't {@link ConfigurableAppender configurable}
+	 */
+	@NonNull
+	static EffectiveConfig compile(@NonNull LoggerConfig config, @Nullable AppenderConfig appenderConfig, int version) {
+		if (appenderConfig == null) {
+			return new EffectiveConfig(version, config.getLevelTable(), config.getDefaultTagTemplate(), true,
+					config.getSeparator(), config.getThrowableSeparator(), Appender.DEFAULT_CHUNK_SIZE);
+		}
+		LogTemplate tagTemplate = appenderConfig.getTagTemplate();
+		return new EffectiveConfig(version,
+				LevelTable.combine(config.getLevelTable(), appenderConfig.getLevelTable()),
+				tagTemplate != null ? tagTemplate : config.getDefaultTagTemplate(),
+				appenderConfig.isLogThrowableWithStackTrace() || config.isLogThrowableWithStackTrace(),
+				firstNonNull(appenderConfig.getSeparator(), config.getSeparator()),
+				firstNonNull(appenderConfig.getThrowableSeparator(), config.getThrowableSeparator()),
+				appenderConfig.getChunkSize());
+	}
+
+	@NonNull
+	private static String firstNonNull(@Nullable String value, @NonNull String defaultValue) {
+		return value != null ? value : defaultValue;
+	}
+}
@@ -0,0 +1,96 @@
+package software.rsquared.androidlogger;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Message rendered on the first {@link #toString()} call, which happens only when an appender accepts its {@link Level}.
+ * Rendered text is kept, so the message is formatted once for all appenders.
+ *
+ * @author Rafał Zajfert
+ */
+abstract class LazyMessage {
+
+	private String text;
+
+	/**
+	 * Message formatted with {@link String#format(String, Object...)}
+	 */
+	@NonNull
+	static LazyMessage format(String format, Object... args) {
+		return new FormattedMessage(format, args);
+	}
+
+	/**
+	 * Message created from multiple parts
+	 */
+	@NonNull
+	static LazyMessage join(@NonNull String separator, Object... parts) {
+		return new JoinedMessage(separator, parts);
+	}
+
+	/**
+	 * Message created by the supplier
+	 */
+	@NonNull
+	static LazyMessage supply(@NonNull MessageSupplier supplier) {
+		return new SuppliedMessage(supplier);
+	}
+
+	@Nullable
+	protected abstract String render();
+
+	@Override
+	public String toString() {
+		String text = this.text;
+		if (text == null) {
+			text = String.valueOf(render());
+			this.text = text;
+		}
+		return text;
+	}
+
+	private static final class FormattedMessage extends LazyMessage {
+		private final String format;
+		private final Object[] args;
+
+		FormattedMessage(String format, Object[] args) {
+			this.format = format;
+			this.args = args;
+		}
+
+		@Override
+		protected String render() {
+			return String.format(format, args);
+		}
+	}
+
+	private static final class JoinedMessage extends LazyMessage {
+		private final String separator;
+		private final Object[] parts;
+
+		JoinedMessage(@NonNull String separator, Object[] parts) {
+			this.separator = separator;
+			this.parts = parts;
+		}
+
+		@Override
+		protected String render() {
+			return LoggerUtils.array2String(separator, parts);
+		}
+	}
+
+	private static final class SuppliedMessage extends LazyMessage {
+		private final MessageSupplier supplier;
+
+		SuppliedMessage(@NonNull MessageSupplier supplier) {
+			this.supplier = supplier;
+		}
+
+		@Override
+		protected String render() {
+			Object message = supplier.get();
+			return message == null ? null : String.valueOf(message);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package software.rsquared.androidlogger;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Level overwrites and minimal level compiled into the remap table indexed by {@link Level#ordinal()} and the bitmask of enabled levels,
+ * so checking a message level is a single array index and a bit test.<p>
+ * Tables are immutable, each {@link Config} compiles its own table again when its levels change.
+ *
+ * @author Rafał Zajfert
+ */
+final class LevelTable {
+
+	private static final Level[] LEVELS = Level.values();
+
+	/**
+	 * Level that is appended instead of the level with the index ordinal
+	 */
+	@NonNull
+	private final Level[] levels;
+
+	/**
+	 * Bit with index ordinal is set if the message with the level should be appended
+	 */
+	private final int enabledMask;
+
+	private LevelTable(@NonNull Level[] levels, int enabledMask) {
+		this.levels = levels;
+		this.enabledMask = enabledMask;
+	}
+
+	/**
+	 * Compile level overwrites and minimal level of the single configuration
+	 */
+	@NonNull
+	static LevelTable compile(@NonNull Config config) {
+		Level[] levels = new Level[LEVELS.length];
+		int enabledMask = 0;
+		for (Level level : LEVELS) {
+			Level overwritten = config.overwrittenLevels.get(level);
+			if (overwritten == null) {
+				overwritten = level;
+			}
+			levels[level.ordinal()] = overwritten;
+			if (config.isLevelAllowed(overwritten)) {
+				enabledMask |= 1 << level.ordinal();
+			}
+		}
+		return new LevelTable(levels, enabledMask);
+	}
+
+	/**
+	 * Combine global table with the table of the appender, level is first overwritten by the global configuration and then by the appender configuration
+	 */
+	@NonNull
+	static LevelTable combine(@NonNull LevelTable global, @NonNull LevelTable appender) {
+		Level[] levels = new Level[LEVELS.length];
+		int enabledMask = 0;
+		for (int i = 0; i < LEVELS.length; i++) {
+			Level level = global.levels[i];
+			levels[i] = appender.levels[level.ordinal()];
+			if (global.isEnabled(LEVELS[i]) && appender.isEnabled(level)) {
+				enabledMask |= 1 << i;
+			}
+		}
+		return new LevelTable(levels, enabledMask);
+	}
+
+	boolean isEnabled(@NonNull Level level) {
+		return (enabledMask & (1 << level.ordinal())) != 0;
+	}
+
+	/**
+	 * Level that should be appended instead of the specified level
+	 */
+	@NonNull
+	Level map(@NonNull Level level) {
+		return levels[level.ordinal()];
+	}
+}
@@ -0,0 +1,269 @@
+package software.rsquared.androidlogger;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single log message passed from the {@link Logger} to the appenders.<p>
+ * Events are reused: they are taken from the small per-thread pool or are slots of the {@link AsyncDispatcher} ring buffer and the
+ * {@link AppenderQueue}, so a logging call doesn't allocate events regardless of the number of appenders.
+ * References to the event must not be kept after it was appended, appenders that need the values later must copy them.
+ *
+ * @author Rafał Zajfert
+ */
+public final class LogEvent {
+
+	/**
+	 * Maximum number of free events kept by each thread, more events are needed only if appenders log messages themselves
+	 */
+	private static final int MAX_POOL_SIZE = 4;
+
+	private static final ThreadLocal<Pool> pool = new ThreadLocal<Pool>() {
+		@Override
+		protected Pool initialValue() {
+			return new Pool();
+		}
+	};
+
+	private static final AtomicLong createdCount = new AtomicLong();
+
+	/**
+	 * Index of the {@link #rendered} message formatted for the level
+	 */
+	static final int RENDERED_MESSAGE = 0;
+
+	/**
+	 * Index of the {@link #rendered} throwable text
+	 */
+	static final int RENDERED_THROWABLE = 1;
+
+	/**
+	 * Index of the {@link #rendered} tag
+	 */
+	static final int RENDERED_TAG = 2;
+
+	/**
+	 * Index of the {@link #rendered} message joined with the throwable text
+	 */
+	static final int RENDERED_TEXT = 3;
+
+	Level level;
+
+	@Nullable
+	Tag tag;
+
+	@Nullable
+	Object message;
+
+	@Nullable
+	Throwable throwable;
+
+	/**
+	 * Time in milliseconds when the message was logged, captured once so all appenders print the same time
+	 */
+	long time;
+
+	/**
+	 * Name of the thread that logged the message
+	 */
+	@Nullable
+	String threadName;
+
+	/**
+	 * Id of the thread that logged the message
+	 */
+	long threadId;
+
+	/**
+	 * Stack trace element of the code that logged the message, resolved once and shared with all appenders
+	 */
+	@Nullable
+	private StackTraceElement caller;
+
+	private boolean callerResolved;
+
+	/**
+	 * Texts rendered by the appenders, shared with the other appenders of the event that use the same formatting settings.
+	 * Each slot keeps only the last rendered variant, which is enough because most appenders share the global settings.
+	 */
+	private final RenderedText[] rendered = new RenderedText[4];
+
+	LogEvent() {
+		createdCount.incrementAndGet();
+	}
+
+	/**
+	 * Take the event from the pool of the current thread, new event is created only if the pool is empty.
+	 * Event must be returned with {@link #recycle()} after it was appended.
+	 */
+	@NonNull
+	static LogEvent obtain() {
+		Pool pool = LogEvent.pool.get();
+		if (pool.size > 0) {
+			LogEvent event = pool.events[--pool.size];
+			pool.events[pool.size] = null;
+			return event;
+		}
+		return new LogEvent();
+	}
+
+	/**
+	 * Clear the event and return it to the pool of the current thread
+	 */
+	void recycle() {
+		clear();
+		Pool pool = LogEvent.pool.get();
+		if (pool.size < MAX_POOL_SIZE) {
+			pool.events[pool.size++] = this;
+		}
+	}
+
+	/**
+	 * Number of events created since the application start, all events are reused so it grows only until the pools and buffers are filled
+	 */
+	public static long getCreatedCount() {
+		return createdCount.get();
+	}
+
+	void set(Level level, @Nullable Tag tag, @Nullable Object message, @Nullable Throwable throwable) {
+		this.level = level;
+		this.tag = tag;
+		this.message = message;
+		this.throwable = throwable;
+		this.time = System.currentTimeMillis();
+		Thread thread = Thread.currentThread();
+		this.threadName = thread.getName();
+		this.threadId = thread.getId();
+	}
+
+	/**
+	 * Copy all values of the other event, including the resolved caller location
+	 */
+	void copyFrom(LogEvent event) {
+		this.level = event.level;
+		this.tag = event.tag;
+		this.message = event.message;
+		this.throwable = event.throwable;
+		this.time = event.time;
+		this.threadName = event.threadName;
+		this.threadId = event.threadId;
+		this.caller = event.caller;
+		this.callerResolved = event.callerResolved;
+		System.arraycopy(event.rendered, 0, rendered, 0, rendered.length);
+	}
+
+	void clear() {
+		level = null;
+		tag = null;
+		message = null;
+		throwable = null;
+		time = 0;
+		threadName = null;
+		threadId = 0;
+		caller = null;
+		callerResolved = false;
+		Arrays.fill(rendered, null);
+	}
+
+	/**
+	 * Returns text rendered before with the same keys
+	 *
+	 * @param index one of the {@link #RENDERED_MESSAGE RENDERED_} indexes
+	 */
+	@Nullable
+	RenderedText getRendered(int index, @Nullable Object key1, @Nullable Object key2, @Nullable Object key3) {
+		RenderedText text = rendered[index];
+		return text != null && text.matches(key1, key2, key3) ? text : null;
+	}
+
+	/**
+	 * Keep the rendered text for the other appenders, it replaces the text rendered before with different keys
+	 *
+	 * @param index one of the {@link #RENDERED_MESSAGE RENDERED_} indexes
+	 */
+	void putRendered(int index, @Nullable Object key1, @Nullable Object key2, @Nullable Object key3, @Nullable String text) {
+		rendered[index] = new RenderedText(key1, key2, key3, text);
+	}
+
+	/**
+	 * Checks if the event was created for the message with specified values
+	 */
+	boolean isFor(@Nullable Tag tag, @Nullable Object message, @Nullable Throwable throwable) {
+		return this.tag == tag && this.message == message && this.throwable == throwable;
+	}
+
+	/**
+	 * Level of the message, appenders receive level overwritten by their configuration
+	 */
+	public Level getLevel() {
+		return level;
+	}
+
+	@Nullable
+	public Tag getTag() {
+		return tag;
+	}
+
+	/**
+	 * Message object as it was logged, it's rendered by the appenders
+	 */
+	@Nullable
+	public Object getMessage() {
+		return message;
+	}
+
+	@Nullable
+	public Throwable getThrowable() {
+		return throwable;
+	}
+
+	/**
+	 * Time in milliseconds when the message was logged
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Name of the thread that logged the message
+	 */
+	@Nullable
+	public String getThreadName() {
+		return threadName;
+	}
+
+	/**
+	 * Id of the thread that logged the message
+	 */
+	public long getThreadId() {
+		return threadId;
+	}
+
+	/**
+	 * Stack trace element of the code that logged the message. If it wasn't captured when the event was created then it is resolved
+	 * with the stack of the current thread, so this must be called on the logging thread.
+	 */
+	@Nullable
+	public StackTraceElement getCaller() {
+		if (!callerResolved) {
+			caller = LoggerUtils.findCaller();
+			callerResolved = true;
+		}
+		return caller;
+	}
+
+	void setCaller(@Nullable StackTraceElement caller) {
+		this.caller = caller;
+		this.callerResolved = true;
+	}
+
+	private static final class Pool {
+
+		final LogEvent[] events = new LogEvent[MAX_POOL_SIZE];
+
+		int size;
+	}
+}
@@ -0,0 +1,271 @@
+package software.rsquared.androidlogger;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pattern with the {@link Logger#CLASS_NAME placeholders} parsed once into the list of literals and placeholder resolvers.<p>
+ * Rendering is a single pass into a reusable builder. If the pattern doesn't contain placeholders then neither caller location nor time is resolved.
+ *
+ * @author Rafał Zajfert
+ */
+final class LogTemplate {
+
+	/**
+	 * Placeholders in order of matching
+	 */
+	private static final String[] PLACEHOLDERS = {
+			Logger.CLASS_NAME,
+			Logger.FULL_CLASS_NAME,
+			Logger.METHOD_NAME,
+			Logger.FILE_NAME,
+			Logger.LINE_NUMBER,
+			Logger.LEVEL,
+			Logger.SHORT_LEVEL,
+			Logger.CURRENT_TIME,
+			Logger.CODE_LINE
+	};
+
+	private static final int LITERAL = -1;
+	private static final int CLASS_NAME = 0;
+	private static final int FULL_CLASS_NAME = 1;
+	private static final int METHOD_NAME = 2;
+	private static final int FILE_NAME = 3;
+	private static final int LINE_NUMBER = 4;
+	private static final int LEVEL = 5;
+	private static final int SHORT_LEVEL = 6;
+	private static final int CURRENT_TIME = 7;
+	private static final int CODE_LINE = 8;
+
+	/**
+	 * Builders bigger than this are not reused, so a single long message doesn't keep its buffer forever
+	 */
+	private static final int MAX_REUSED_BUILDER_CAPACITY = 8 * 1024;
+
+	private static final ThreadLocal<StringBuilder> builders = new ThreadLocal<>();
+
+	@NonNull
+	private final String pattern;
+
+	/**
+	 * Type of the token, {@link #LITERAL} or placeholder index
+	 */
+	private final int[] types;
+
+	/**
+	 * Text of the {@link #LITERAL} tokens
+	 */
+	private final String[] literals;
+
+	private final boolean hasPlaceholders;
+
+	private final boolean needsCaller;
+
+	private LogTemplate(@NonNull String pattern, int[] types, String[] literals) {
+		this.pattern = pattern;
+		this.types = types;
+		this.literals = literals;
+		boolean hasPlaceholders = false;
+		boolean needsCaller = false;
+		for (int type : types) {
+			hasPlaceholders |= type != LITERAL;
+			needsCaller |= type != LITERAL && type != LEVEL && type != SHORT_LEVEL && type != CURRENT_TIME;
+		}
+		this.hasPlaceholders = hasPlaceholders;
+		this.needsCaller = needsCaller;
+	}
+
+	/**
+	 * Parse pattern into the template
+	 *
+	 * @return template or null if the pattern is empty
+	 */
+	@Nullable
+	static LogTemplate compile(@Nullable String pattern) {
+		if (TextUtils.isEmpty(pattern)) {
+			return null;
+		}
+		List<Integer> types = new ArrayList<>();
+		List<String> literals = new ArrayList<>();
+		int literalStart = 0;
+		int i = pattern.indexOf('$');
+		while (i >= 0) {
+			int placeholder = matchPlaceholder(pattern, i);
+			if (placeholder == LITERAL) {
+				i = pattern.indexOf('$', i + 1);
+				continue;
+			}
+			if (i > literalStart) {
+				types.add(LITERAL);
+				literals.add(pattern.substring(literalStart, i));
+			}
+			types.add(placeholder);
+			literals.add(PLACEHOLDERS[placeholder]);
+			literalStart = i + PLACEHOLDERS[placeholder].length();
+			i = pattern.indexOf('$', literalStart);
+		}
+		if (literalStart < pattern.length()) {
+			types.add(LITERAL);
+			literals.add(pattern.substring(literalStart));
+		}
+
+		int[] typeArray = new int[types.size()];
+		for (int t = 0; t < typeArray.length; t++) {
+			typeArray[t] = types.get(t);
+		}
+		return new LogTemplate(pattern, typeArray, literals.toArray(new String[literals.size()]));
+	}
+
+	/**
+	 * Replace all placeholders in the text with values of the event appended on the current thread
+	 */
+	@NonNull
+	static String format(@NonNull String text, @NonNull Level level) {
+		int i = text.indexOf('$');
+		if (i < 0) {
+			return text;
+		}
+		StringBuilder builder = obtainBuilder();
+		int literalStart = 0;
+		while (i >= 0) {
+			int placeholder = matchPlaceholder(text, i);
+			if (placeholder == LITERAL) {
+				i = text.indexOf('$', i + 1);
+				continue;
+			}
+			builder.append(text, literalStart, i);
+			appendValue(builder, placeholder, level);
+			literalStart = i + PLACEHOLDERS[placeholder].length();
+			i = text.indexOf('$', literalStart);
+		}
+		builder.append(text, literalStart, text.length());
+		return releaseBuilder(builder);
+	}
+
+	@NonNull
+	String getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * @return true if rendering requires caller location
+	 */
+	boolean needsCaller() {
+		return needsCaller;
+	}
+
+	/**
+	 * Render template with values of the event appended on the current thread
+	 */
+	@NonNull
+	String render(@NonNull Level level) {
+		if (!hasPlaceholders) {
+			return pattern;
+		}
+		StringBuilder builder = obtainBuilder();
+		render(builder, level);
+		return releaseBuilder(builder);
+	}
+
+	/**
+	 * Render template with values of the event appended on the current thread
+	 */
+	void render(@NonNull StringBuilder builder, @NonNull Level level) {
+		if (!hasPlaceholders) {
+			builder.append(pattern);
+			return;
+		}
+		for (int i = 0; i < types.length; i++) {
+			if (types[i] == LITERAL) {
+				builder.append(literals[i]);
+			} else {
+				appendValue(builder, types[i], level);
+			}
+		}
+	}
+
+	private static int matchPlaceholder(@NonNull String text, int offset) {
+		for (int p = 0; p < PLACEHOLDERS.length; p++) {
+			if (text.startsWith(PLACEHOLDERS[p], offset)) {
+				return p;
+			}
+		}
+		return LITERAL;
+	}
+
+	private static void appendValue(@NonNull StringBuilder builder, int placeholder, @NonNull Level level) {
+		switch (placeholder) {
+			case LEVEL:
+				builder.append(level.name());
+				return;
+			case SHORT_LEVEL:
+				builder.append(level.name().charAt(0));
+				return;
+			case CURRENT_TIME:
+				builder.append(LoggerUtils.getTime());
+				return;
+			default:
+				appendCallerValue(builder, placeholder);
+		}
+	}
+
+	private static void appendCallerValue(@NonNull StringBuilder builder, int placeholder) {
+		StackTraceElement caller = LoggerUtils.getStackTraceElement();
+		if (caller == null) {
+			builder.append(PLACEHOLDERS[placeholder]);
+			return;
+		}
+		switch (placeholder) {
+			case CLASS_NAME:
+				String className = caller.getClassName();
+				builder.append(className, className.lastIndexOf('.') + 1, className.length());
+				break;
+			case FULL_CLASS_NAME:
+				builder.append(caller.getClassName());
+				break;
+			case METHOD_NAME:
+				builder.append(caller.getMethodName());
+				break;
+			case FILE_NAME:
+				appendFileName(builder, caller);
+				break;
+			case LINE_NUMBER:
+				builder.append(caller.getLineNumber());
+				break;
+			case CODE_LINE:
+				builder.append('(');
+				appendFileName(builder, caller);
+				builder.append(':').append(caller.getLineNumber()).append(')');
+				break;
+		}
+	}
+
+	private static void appendFileName(@NonNull StringBuilder builder, @NonNull StackTraceElement caller) {
+		String fileName = caller.getFileName();
+		builder.append(fileName == null ? Logger.FILE_NAME : fileName);
+	}
+
+	@NonNull
+	private static StringBuilder obtainBuilder() {
+		StringBuilder builder = builders.get();
+		if (builder == null) {
+			return new StringBuilder();
+		}
+		builders.set(null);
+		return builder;
+	}
+
+	@NonNull
+	private static String releaseBuilder(@NonNull StringBuilder builder) {
+		String result = builder.toString();
+		if (builder.capacity() <= MAX_REUSED_BUILDER_CAPACITY) {
+			builder.setLength(0);
+			builders.set(builder);
+		}
+		return result;
+	}
+}
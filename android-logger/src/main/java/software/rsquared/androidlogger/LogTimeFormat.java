@@ -0,0 +1,343 @@
+package software.rsquared.androidlogger;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * Formatter of the {@link Logger#CURRENT_TIME current time} compiled from the {@link LoggerConfig#setTimePattern(String) time pattern}.<p>
+ * Text of the pattern is rendered once per second and only milliseconds are written into a copy of the cached characters.
+ * Patterns with conversions that are not supported here (e.g. month names or am/pm markers) are formatted with {@link String#format(String, Object...)}
+ * and cached for the same millisecond.
+ *
+ * @author Rafał Zajfert
+ */
+final class LogTimeFormat {
+
+	private static final int LITERAL = 0;
+	private static final int HOUR_OF_DAY = 1;
+	private static final int HOUR_OF_DAY_PADDED = 2;
+	private static final int HOUR = 3;
+	private static final int HOUR_PADDED = 4;
+	private static final int MINUTE = 5;
+	private static final int SECOND = 6;
+	private static final int MILLISECOND = 7;
+	private static final int NANOSECOND = 8;
+	private static final int YEAR = 9;
+	private static final int YEAR_SHORT = 10;
+	private static final int MONTH = 11;
+	private static final int DAY = 12;
+	private static final int DAY_PADDED = 13;
+	private static final int DAY_OF_YEAR = 14;
+	private static final int EPOCH_SECOND = 15;
+
+	@NonNull
+	private final String pattern;
+
+	/**
+	 * Token types, null if pattern must be formatted with {@link String#format(String, Object...)}
+	 */
+	private final int[] types;
+
+	private final String[] literals;
+
+	private final boolean hasMillis;
+
+	private volatile Cache cache;
+
+	private LogTimeFormat(@NonNull String pattern, int[] types, String[] literals) {
+		this.pattern = pattern;
+		this.types = types;
+		this.literals = literals;
+		boolean hasMillis = false;
+		if (types != null) {
+			for (int type : types) {
+				hasMillis |= type == MILLISECOND || type == NANOSECOND;
+			}
+		}
+		this.hasMillis = hasMillis;
+	}
+
+	@NonNull
+	static LogTimeFormat compile(@NonNull String pattern) {
+		List<Integer> types = new ArrayList<>();
+		List<String> literals = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+		boolean supported = true;
+		int i = 0;
+		while (i < pattern.length() && supported) {
+			char c = pattern.charAt(i);
+			if (c != '%') {
+				literal.append(c);
+				i++;
+				continue;
+			}
+			int end = parseSpecifier(pattern, i + 1);
+			if (end < 0) {
+				supported = false;
+				break;
+			}
+			char conversion = pattern.charAt(end);
+			if (conversion == '%') {
+				literal.append('%');
+			} else if (conversion == 'n') {
+				literal.append('\n');
+			} else {
+				supported = addTimeConversion(conversion, types, literals, literal);
+			}
+			i = end + 1;
+		}
+		if (!supported) {
+			return new LogTimeFormat(pattern, null, null);
+		}
+		addLiteral(types, literals, literal);
+
+		int[] typeArray = new int[types.size()];
+		for (int t = 0; t < typeArray.length; t++) {
+			typeArray[t] = types.get(t);
+		}
+		return new LogTimeFormat(pattern, typeArray, literals.toArray(new String[literals.size()]));
+	}
+
+	/**
+	 * Parse format specifier that starts after '%'. Only the first argument can be referenced and flags or width are not supported.
+	 *
+	 * @return index of the conversion character (after 't' or 'T' for date conversions) or -1 if specifier is not supported
+	 */
+	private static int parseSpecifier(@NonNull String pattern, int start) {
+		int i = start;
+		if (pattern.startsWith("1$", i)) {
+			i += 2;
+		} else if (pattern.startsWith("<", i)) {
+			i++;
+		}
+		if (i >= pattern.length()) {
+			return -1;
+		}
+		char c = pattern.charAt(i);
+		if (c == '%' || c == 'n') {
+			return i == start ? i : -1;
+		}
+		if ((c == 't' || c == 'T') && i + 1 < pattern.length()) {
+			return i + 1;
+		}
+		return -1;
+	}
+
+	private static boolean addTimeConversion(char conversion, List<Integer> types, List<String> literals, StringBuilder literal) {
+		switch (conversion) {
+			case 'H':
+				return addToken(types, literals, literal, HOUR_OF_DAY_PADDED);
+			case 'k':
+				return addToken(types, literals, literal, HOUR_OF_DAY);
+			case 'I':
+				return addToken(types, literals, literal, HOUR_PADDED);
+			case 'l':
+				return addToken(types, literals, literal, HOUR);
+			case 'M':
+				return addToken(types, literals, literal, MINUTE);
+			case 'S':
+				return addToken(types, literals, literal, SECOND);
+			case 'L':
+				return addToken(types, literals, literal, MILLISECOND);
+			case 'N':
+				return addToken(types, literals, literal, NANOSECOND);
+			case 'Y':
+				return addToken(types, literals, literal, YEAR);
+			case 'y':
+				return addToken(types, literals, literal, YEAR_SHORT);
+			case 'm':
+				return addToken(types, literals, literal, MONTH);
+			case 'd':
+				return addToken(types, literals, literal, DAY_PADDED);
+			case 'e':
+				return addToken(types, literals, literal, DAY);
+			case 'j':
+				return addToken(types, literals, literal, DAY_OF_YEAR);
+			case 's':
+				return addToken(types, literals, literal, EPOCH_SECOND);
+			case 'R':
+				addToken(types, literals, literal, HOUR_OF_DAY_PADDED);
+				literal.append(':');
+				return addToken(types, literals, literal, MINUTE);
+			case 'T':
+				addToken(types, literals, literal, HOUR_OF_DAY_PADDED);
+				literal.append(':');
+				addToken(types, literals, literal, MINUTE);
+				literal.append(':');
+				return addToken(types, literals, literal, SECOND);
+			case 'D':
+				addToken(types, literals, literal, MONTH);
+				literal.append('/');
+				addToken(types, literals, literal, DAY_PADDED);
+				literal.append('/');
+				return addToken(types, literals, literal, YEAR_SHORT);
+			case 'F':
+				addToken(types, literals, literal, YEAR);
+				literal.append('-');
+				addToken(types, literals, literal, MONTH);
+				literal.append('-');
+				return addToken(types, literals, literal, DAY_PADDED);
+			default:
+				return false;
+		}
+	}
+
+	private static boolean addToken(List<Integer> types, List<String> literals, StringBuilder literal, int type) {
+		addLiteral(types, literals, literal);
+		types.add(type);
+		literals.add(null);
+		return true;
+	}
+
+	private static void addLiteral(List<Integer> types, List<String> literals, StringBuilder literal) {
+		if (literal.length() > 0) {
+			types.add(LITERAL);
+			literals.add(literal.toString());
+			literal.setLength(0);
+		}
+	}
+
+	@NonNull
+	String getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * Format time in milliseconds
+	 */
+	@NonNull
+	String format(long time) {
+		Cache cache = this.cache;
+		if (types == null) {
+			if (cache == null || cache.time != time) {
+				cache = new Cache(time, String.format(pattern, time));
+				this.cache = cache;
+			}
+			return cache.text;
+		}
+
+		long second = time / 1000;
+		if (time < 0 && time % 1000 != 0) {
+			second--;
+		}
+		if (cache == null || cache.time != second) {
+			cache = createSecondCache(second);
+			this.cache = cache;
+		}
+		if (!hasMillis) {
+			return cache.text;
+		}
+		int millis = (int) (time - second * 1000);
+		char[] chars = cache.chars.clone();
+		for (int offset : cache.millisOffsets) {
+			chars[offset] = (char) ('0' + millis / 100);
+			chars[offset + 1] = (char) ('0' + millis / 10 % 10);
+			chars[offset + 2] = (char) ('0' + millis % 10);
+		}
+		return new String(chars);
+	}
+
+	@NonNull
+	private Cache createSecondCache(long second) {
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTimeInMillis(second * 1000);
+		StringBuilder builder = new StringBuilder();
+		int[] millisOffsets = new int[types.length];
+		int millisCount = 0;
+		for (int i = 0; i < types.length; i++) {
+			switch (types[i]) {
+				case LITERAL:
+					builder.append(literals[i]);
+					break;
+				case HOUR_OF_DAY:
+					builder.append(calendar.get(Calendar.HOUR_OF_DAY));
+					break;
+				case HOUR_OF_DAY_PADDED:
+					appendPadded(builder, calendar.get(Calendar.HOUR_OF_DAY), 2);
+					break;
+				case HOUR:
+					builder.append(getHour(calendar));
+					break;
+				case HOUR_PADDED:
+					appendPadded(builder, getHour(calendar), 2);
+					break;
+				case MINUTE:
+					appendPadded(builder, calendar.get(Calendar.MINUTE), 2);
+					break;
+				case SECOND:
+					appendPadded(builder, calendar.get(Calendar.SECOND), 2);
+					break;
+				case MILLISECOND:
+					millisOffsets[millisCount++] = builder.length();
+					builder.append("000");
+					break;
+				case NANOSECOND:
+					millisOffsets[millisCount++] = builder.length();
+					builder.append("000000000");
+					break;
+				case YEAR:
+					appendPadded(builder, calendar.get(Calendar.YEAR), 4);
+					break;
+				case YEAR_SHORT:
+					appendPadded(builder, calendar.get(Calendar.YEAR) % 100, 2);
+					break;
+				case MONTH:
+					appendPadded(builder, calendar.get(Calendar.MONTH) + 1, 2);
+					break;
+				case DAY:
+					builder.append(calendar.get(Calendar.DAY_OF_MONTH));
+					break;
+				case DAY_PADDED:
+					appendPadded(builder, calendar.get(Calendar.DAY_OF_MONTH), 2);
+					break;
+				case DAY_OF_YEAR:
+					appendPadded(builder, calendar.get(Calendar.DAY_OF_YEAR), 3);
+					break;
+				case EPOCH_SECOND:
+					builder.append(second);
+					break;
+			}
+		}
+		int[] offsets = new int[millisCount];
+		System.arraycopy(millisOffsets, 0, offsets, 0, millisCount);
+		return new Cache(second, builder.toString(), offsets);
+	}
+
+	private static int getHour(@NonNull Calendar calendar) {
+		int hour = calendar.get(Calendar.HOUR);
+		return hour == 0 ? 12 : hour;
+	}
+
+	private static void appendPadded(@NonNull StringBuilder builder, int value, int width) {
+		for (int limit = 10, i = 1; i < width; i++, limit *= 10) {
+			if (value < limit) {
+				builder.append('0');
+			}
+		}
+		builder.append(value);
+	}
+
+	/**
+	 * Text rendered for the second (or millisecond if pattern is formatted with {@link String#format(String, Object...)})
+	 */
+	private static final class Cache {
+		final long time;
+		final String text;
+		final char[] chars;
+		final int[] millisOffsets;
+
+		Cache(long time, String text) {
+			this(time, text, new int[0]);
+		}
+
+		Cache(long time, String text, int[] millisOffsets) {
+			this.time = time;
+			this.text = text;
+			this.chars = millisOffsets.length > 0 ? text.toCharArray() : null;
+			this.millisOffsets = millisOffsets;
+		}
+	}
+}
@@ -106,7 +106,7 @@ public abstract class Logger extends BaseLogger {
 	 * Logger for appender with given value
 	 */
 	public static Logger getLogger(String appenderId) {
-		return getLoggerConfig().getLoggerMap().get(appenderId);
+		return getLoggerConfig().getLogger(appenderId);
 	}
 
 	public static Logger createWith(Appender appender) {
@@ -154,6 +154,49 @@ public abstract class Logger extends BaseLogger {
 		appendToAll(INFO, tag, message, null);
 	}
 
+	/**
+	 * Send an {@link Level#INFO INFO} message created by the supplier.
+	 * Supplier is called only if the message will be appended by at least one appender<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param supplier supplier of the message to send
+	 */
+	public static void infoL(MessageSupplier supplier) {
+		appendSupplied(INFO, null, supplier);
+	}
+
+	/**
+	 * Send an {@link Level#INFO INFO} message created by the supplier.
+	 * Supplier is called only if the message will be appended by at least one appender<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param tag      custom value of the log
+	 * @param supplier supplier of the message to send
+	 */
+	public static void infoL(Tag tag, MessageSupplier supplier) {
+		appendSupplied(INFO, tag, supplier);
+	}
+
 	/**
 	 * Send an {@link Level#INFO INFO} message formatted with args objects<p>
 	 * <p>
@@ -172,7 +215,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message to send
 	 */
 	public static void infoF(String message, Object... args) {
-		appendToAll(INFO, String.format(message, args), null);
+		appendFormatted(INFO, null, message, args);
 	}
 
 	/**
@@ -194,7 +237,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message to send
 	 */
 	public static void infoF(Tag tag, String message, Object... args) {
-		appendToAll(INFO, tag, String.format(message, args), null);
+		appendFormatted(INFO, tag, message, args);
 	}
 
 	/**
@@ -216,7 +259,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message parts to send
 	 */
 	public static void info(Object... message) {
-		appendToAll(INFO, LoggerUtils.array2String(getLoggerConfig().getSeparator(), message), null);
+		appendJoined(INFO, null, message);
 	}
 
 	/**
@@ -239,7 +282,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message parts to send
 	 */
 	public static void info(Tag tag, Object... message) {
-		appendToAll(INFO, tag, LoggerUtils.array2String(getLoggerConfig().getSeparator(), message), null);
+		appendJoined(INFO, tag, message);
 	}
 
 	/**
@@ -348,6 +391,49 @@ public abstract class Logger extends BaseLogger {
 		appendToAll(ERROR, tag, message, null);
 	}
 
+	/**
+	 * Send an {@link Level#ERROR ERROR} message created by the supplier.
+	 * Supplier is called only if the message will be appended by at least one appender<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param supplier supplier of the message to send
+	 */
+	public static void errorL(MessageSupplier supplier) {
+		appendSupplied(ERROR, null, supplier);
+	}
+
+	/**
+	 * Send an {@link Level#ERROR ERROR} message created by the supplier.
+	 * Supplier is called only if the message will be appended by at least one appender<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param tag      custom value of the log
+	 * @param supplier supplier of the message to send
+	 */
+	public static void errorL(Tag tag, MessageSupplier supplier) {
+		appendSupplied(ERROR, tag, supplier);
+	}
+
 	/**
 	 * Send an {@link Level#ERROR ERROR} message formatted with args objects<p>
 	 * <p>
@@ -366,7 +452,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message to send
 	 */
 	public static void errorF(String message, Object... args) {
-		appendToAll(ERROR, String.format(message, args), null);
+		appendFormatted(ERROR, null, message, args);
 	}
 
 	/**
@@ -388,7 +474,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message to send
 	 */
 	public static void errorF(Tag tag, String message, Object... args) {
-		appendToAll(ERROR, tag, String.format(message, args), null);
+		appendFormatted(ERROR, tag, message, args);
 	}
 
 	/**
@@ -410,7 +496,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message parts to send
 	 */
 	public static void error(Object... message) {
-		appendToAll(ERROR, LoggerUtils.array2String(getLoggerConfig().getSeparator(), message), null);
+		appendJoined(ERROR, null, message);
 	}
 
 	/**
@@ -433,7 +519,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message parts to send
 	 */
 	public static void error(Tag tag, Object... message) {
-		appendToAll(ERROR, tag, LoggerUtils.array2String(getLoggerConfig().getSeparator(), message), null);
+		appendJoined(ERROR, tag, message);
 	}
 
 	/**
@@ -542,6 +628,49 @@ public abstract class Logger extends BaseLogger {
 		appendToAll(DEBUG, tag, message, null);
 	}
 
+	/**
+	 * Send an {@link Level#DEBUG DEBUG} message created by the supplier.
+	 * Supplier is called only if the message will be appended by at least one appender<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param supplier supplier of the message to send
+	 */
+	public static void debugL(MessageSupplier supplier) {
+		appendSupplied(DEBUG, null, supplier);
+	}
+
+	/**
+	 * Send an {@link Level#DEBUG DEBUG} message created by the supplier.
+	 * Supplier is called only if the message will be appended by at least one appender<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param tag      custom value of the log
+	 * @param supplier supplier of the message to send
+	 */
+	public static void debugL(Tag tag, MessageSupplier supplier) {
+		appendSupplied(DEBUG, tag, supplier);
+	}
+
 	/**
 	 * Send an {@link Level#DEBUG DEBUG} message formatted with args objects<p>
 	 * <p>
@@ -560,7 +689,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message to send
 	 */
 	public static void debugF(String message, Object... args) {
-		appendToAll(DEBUG, String.format(message, args), null);
+		appendFormatted(DEBUG, null, message, args);
 	}
 
 	/**
@@ -582,7 +711,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message to send
 	 */
 	public static void debugF(Tag tag, String message, Object... args) {
-		appendToAll(DEBUG, tag, String.format(message, args), null);
+		appendFormatted(DEBUG, tag, message, args);
 	}
 
 	/**
@@ -604,7 +733,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message parts to send
 	 */
 	public static void debug(Object... message) {
-		appendToAll(DEBUG, LoggerUtils.array2String(getLoggerConfig().getSeparator(), message), null);
+		appendJoined(DEBUG, null, message);
 	}
 
 	/**
@@ -627,7 +756,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message parts to send
 	 */
 	public static void debug(Tag tag, Object... message) {
-		appendToAll(DEBUG, tag, LoggerUtils.array2String(getLoggerConfig().getSeparator(), message), null);
+		appendJoined(DEBUG, tag, message);
 	}
 
 	/**
@@ -736,6 +865,49 @@ public abstract class Logger extends BaseLogger {
 		appendToAll(VERBOSE, tag, message, null);
 	}
 
+	/**
+	 * Send an {@link Level#VERBOSE VERBOSE} message created by the supplier.
+	 * Supplier is called only if the message will be appended by at least one appender<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param supplier supplier of the message to send
+	 */
+	public static void verboseL(MessageSupplier supplier) {
+		appendSupplied(VERBOSE, null, supplier);
+	}
+
+	/**
+	 * Send an {@link Level#VERBOSE VERBOSE} message created by the supplier.
+	 * Supplier is called only if the message will be appended by at least one appender<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param tag      custom value of the log
+	 * @param supplier supplier of the message to send
+	 */
+	public static void verboseL(Tag tag, MessageSupplier supplier) {
+		appendSupplied(VERBOSE, tag, supplier);
+	}
+
 	/**
 	 * Send an {@link Level#VERBOSE VERBOSE} message formatted with args objects<p>
 	 * <p>
@@ -754,7 +926,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message to send
 	 */
 	public static void verboseF(String message, Object... args) {
-		appendToAll(VERBOSE, String.format(message, args), null);
+		appendFormatted(VERBOSE, null, message, args);
 	}
 
 	/**
@@ -776,7 +948,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message to send
 	 */
 	public static void verboseF(Tag tag, String message, Object... args) {
-		appendToAll(VERBOSE, tag, String.format(message, args), null);
+		appendFormatted(VERBOSE, tag, message, args);
 	}
 
 	/**
@@ -798,7 +970,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message parts to send
 	 */
 	public static void verbose(Object... message) {
-		appendToAll(VERBOSE, LoggerUtils.array2String(getLoggerConfig().getSeparator(), message), null);
+		appendJoined(VERBOSE, null, message);
 	}
 
 	/**
@@ -821,7 +993,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message parts to send
 	 */
 	public static void verbose(Tag tag, Object... message) {
-		appendToAll(VERBOSE, tag, LoggerUtils.array2String(getLoggerConfig().getSeparator(), message), null);
+		appendJoined(VERBOSE, tag, message);
 	}
 
 	/**
@@ -930,6 +1102,49 @@ public abstract class Logger extends BaseLogger {
 		appendToAll(WARNING, tag, message, null);
 	}
 
+	/**
+	 * Send an {@link Level#WARNING WARNING} message created by the supplier.
+	 * Supplier is called only if the message will be appended by at least one appender<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param supplier supplier of the message to send
+	 */
+	public static void warningL(MessageSupplier supplier) {
+		appendSupplied(WARNING, null, supplier);
+	}
+
+	/**
+	 * Send an {@link Level#WARNING WARNING} message created by the supplier.
+	 * Supplier is called only if the message will be appended by at least one appender<p>
+	 * <p>
+	 * You can also use auto generated values:<p>
+	 * {@link Logger#CLASS_NAME CLASS_NAME}<p>
+	 * {@link Logger#FULL_CLASS_NAME FULL_CLASS_NAME}<p>
+	 * {@link Logger#METHOD_NAME METHOD_NAME}<p>
+	 * {@link Logger#FILE_NAME FILE_NAME}<p>
+	 * {@link Logger#LINE_NUMBER LINE_NUMBER}<p>
+	 * {@link Logger#LEVEL LEVEL}<p>
+	 * {@link Logger#SHORT_LEVEL SHORT_LEVEL}<p>
+	 * {@link Logger#CURRENT_TIME CURRENT_TIME}<p>
+	 * {@link Logger#CODE_LINE CODE_LINE}
+	 *
+	 * @param tag      custom value of the log
+	 * @param supplier supplier of the message to send
+	 */
+	public static void warningL(Tag tag, MessageSupplier supplier) {
+		appendSupplied(WARNING, tag, supplier);
+	}
+
 	/**
 	 * Send an {@link Level#WARNING WARNING} message formatted with args objects<p>
 	 * <p>
@@ -948,7 +1163,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message to send
 	 */
 	public static void warningF(String message, Object... args) {
-		appendToAll(WARNING, String.format(message, args), null);
+		appendFormatted(WARNING, null, message, args);
 	}
 
 	/**
@@ -970,7 +1185,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message to send
 	 */
 	public static void warningF(Tag tag, String message, Object... args) {
-		appendToAll(WARNING, tag, String.format(message, args), null);
+		appendFormatted(WARNING, tag, message, args);
 	}
 
 	/**
@@ -992,7 +1207,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message parts to send
 	 */
 	public static void warning(Object... message) {
-		appendToAll(WARNING, LoggerUtils.array2String(getLoggerConfig().getSeparator(), message), null);
+		appendJoined(WARNING, null, message);
 	}
 
 	/**
@@ -1015,7 +1230,7 @@ public abstract class Logger extends BaseLogger {
 	 * @param message message parts to send
 	 */
 	public static void warning(Tag tag, Object... message) {
-		appendToAll(WARNING, tag, LoggerUtils.array2String(getLoggerConfig().getSeparator(), message), null);
+		appendJoined(WARNING, tag, message);
 	}
 
 	/**
@@ -1097,19 +1312,68 @@ public abstract class Logger extends BaseLogger {
 		debug(tag, "at " + Logger.FULL_CLASS_NAME + "." + Logger.METHOD_NAME + Logger.CODE_LINE);
 	}
 
+	/**
+	 * Checks if the message with given level and tag can be appended, so its rendering can be skipped otherwise.
+	 * Message is counted by the {@link RateLimiter rate limiter} of the tag, so this must be called once for each message.
+	 */
+	private static boolean isLoggable(LoggerConfig loggerConfig, Level level, @Nullable Tag tag) {
+		// level is overwritten by each appender logger with its own level table
+		return loggerConfig.getLevelTable().isEnabled(level) && loggerConfig.tryAcquire(tag);
+	}
+
+	private static void appendFormatted(Level level, @Nullable Tag tag, String format, Object[] args) {
+		LoggerConfig loggerConfig = getLoggerConfig();
+		if (isLoggable(loggerConfig, level, tag)) {
+			dispatch(loggerConfig, level, tag, LazyMessage.format(format, args), null);
+		}
+	}
+
+	private static void appendJoined(Level level, @Nullable Tag tag, Object[] parts) {
+		LoggerConfig loggerConfig = getLoggerConfig();
+		if (isLoggable(loggerConfig, level, tag)) {
+			dispatch(loggerConfig, level, tag, LazyMessage.join(loggerConfig.getSeparator(), parts), null);
+		}
+	}
+
+	private static void appendSupplied(Level level, @Nullable Tag tag, MessageSupplier supplier) {
+		LoggerConfig loggerConfig = getLoggerConfig();
+		if (isLoggable(loggerConfig, level, tag)) {
+			dispatch(loggerConfig, level, tag, LazyMessage.supply(supplier), null);
+		}
+	}
+
 	private static void appendToAll(Level level, @Nullable Object message, @Nullable Throwable throwable) {
 		appendToAll(level, null, message, throwable);
 	}
 
 	private static void appendToAll(Level level, Tag tag, @Nullable Object message, @Nullable Throwable throwable) {
 		LoggerConfig loggerConfig = getLoggerConfig();
-		if (loggerConfig.getOverwrittenLevels().containsKey(level)) {
-			level = loggerConfig.getOverwrittenLevels().get(level);
+		if (isLoggable(loggerConfig, level, tag)) {
+			dispatch(loggerConfig, level, tag, message, throwable);
 		}
-		if (loggerConfig.isLevelAllowed(level)) {
-			for (Logger logger : loggerConfig.getLoggerMap().values()) {
-				logger.append(level, tag, message, throwable);
+	}
+
+	private static void dispatch(LoggerConfig loggerConfig, Level level, Tag tag, @Nullable Object message, @Nullable Throwable throwable) {
+		AsyncDispatcher dispatcher = loggerConfig.getAsyncDispatcher();
+		if (dispatcher != null) {
+			dispatcher.publish(level, tag, message, throwable);
+		} else {
+			appendToLoggers(loggerConfig, level, tag, message, throwable);
+		}
+	}
+
+	static void appendToLoggers(LoggerConfig loggerConfig, Level level, Tag tag, @Nullable Object message, @Nullable Throwable throwable) {
+		LogEvent event = LogEvent.obtain();
+		event.set(level, tag, message, throwable);
+		LogEvent previous = LoggerUtils.setCurrentEvent(event);
+		try {
+			Logger[] loggers = loggerConfig.getLoggers();
+			for (int i = 0; i < loggers.length; i++) {
+				loggers[i].append(level, tag, message, throwable);
 			}
+		} finally {
+			LoggerUtils.setCurrentEvent(previous);
+			event.recycle();
 		}
 	}
 
@@ -6,6 +6,7 @@ import android.support.annotation.Nullable;
 import android.support.annotation.RawRes;
 import android.text.TextUtils;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,10 +30,25 @@ public class LoggerConfig extends Config  {
 	private static final String DEFAULT_TIME_PATTERN = "%1$tH:%1$tM:%1$tS.%1$tL";
 
 	/**
-	 * Map of all global appenders, key is identifier of the logger in value
+	 * Default number of messages that can wait for the background dispatch
 	 */
-	@Getter(AccessLevel.PACKAGE)
-	private final Map<String, Logger> loggerMap = new HashMap<>();
+	private static final int DEFAULT_ASYNC_BUFFER_SIZE = 1024;
+
+	/**
+	 * Maximum time to wait for the queued messages when the dispatch is stopped or the app crashes
+	 */
+	static final long ASYNC_DRAIN_TIMEOUT = 2000;
+
+	/**
+	 * Snapshot of all global appenders, replaced on every change so the logging threads can read it without locking
+	 */
+	@NonNull
+	private volatile LoggerRegistry registry = LoggerRegistry.EMPTY;
+
+	/**
+	 * Lock that serializes changes of the {@link #registry}
+	 */
+	private final Object registryLock = new Object();
 
 	/**
 	 * default log value that will be used when custom appenderId is not defined
@@ -41,6 +57,13 @@ public class LoggerConfig extends Config  {
 	@NonNull
 	private String defaultTag = Logger.CODE_LINE;
 
+	/**
+	 * Template compiled from the {@link #defaultTag}
+	 */
+	@Getter(AccessLevel.PACKAGE)
+	@Nullable
+	private LogTemplate defaultTagTemplate = LogTemplate.compile(defaultTag);
+
 	/**
 	 * Pattern of the displayed time
 	 */
@@ -48,6 +71,54 @@ public class LoggerConfig extends Config  {
 	@NonNull
 	private String timePattern = DEFAULT_TIME_PATTERN;
 
+	/**
+	 * Formatter compiled from the {@link #timePattern}
+	 */
+	@Getter(AccessLevel.PACKAGE)
+	@NonNull
+	private LogTimeFormat timeFormat = LogTimeFormat.compile(timePattern);
+
+	/**
+	 * Maximum number of stack trace frames logged for each throwable, 0 if frames are not limited
+	 */
+	private int throwableMaxDepth;
+
+	/**
+	 * Prefixes of the class names whose stack trace frames are not logged
+	 */
+	@NonNull
+	private String[] throwableExcludedPackages = new String[0];
+
+	/**
+	 * Renderer created with the {@link #throwableMaxDepth} and the {@link #throwableExcludedPackages}
+	 */
+	@Getter(AccessLevel.PACKAGE)
+	@NonNull
+	private volatile ThrowableRenderer throwableRenderer = new ThrowableRenderer(throwableMaxDepth, throwableExcludedPackages);
+
+	/**
+	 * Limiters of the messages by the tag value, replaced as a whole on each change so it's read without locking
+	 */
+	@NonNull
+	private volatile Map<String, RateLimiter> rateLimits = Collections.emptyMap();
+
+	/**
+	 * Dispatcher that appends messages on the background threads, null if messages are appended on the calling thread
+	 */
+	@Getter(AccessLevel.PACKAGE)
+	@Nullable
+	private volatile AsyncDispatcher asyncDispatcher;
+
+	/**
+	 * Number of messages that can wait for the background dispatch
+	 */
+	private int asyncBufferSize = DEFAULT_ASYNC_BUFFER_SIZE;
+
+	/**
+	 * Number of the background threads used to append messages
+	 */
+	private int asyncConsumerCount = 1;
+
 	private LoggerConfig() {
 		enableDefaultAppender(true);
 	}
@@ -61,11 +132,53 @@ public class LoggerConfig extends Config  {
 
 	public void fromProperties(Context context, @RawRes int propertiesRes) {
 		ConfigPropertiesReader reader = ConfigPropertiesReader.read(context, propertiesRes);
-		this.loggerMap.clear();
-		this.loggerMap.putAll(reader.getLoggerMap());
+		LoggerRegistry newRegistry = LoggerRegistry.EMPTY;
+		for (Map.Entry<String, Logger> entry : reader.getLoggerMap().entrySet()) {
+			newRegistry = newRegistry.put(entry.getKey(), entry.getValue());
+		}
+		LoggerRegistry previous;
+		synchronized (registryLock) {
+			previous = this.registry;
+			this.registry = newRegistry;
+		}
+		stopAll(previous);
 		read(reader.getBaseConfigMap());
 	}
 
+	/**
+	 * All global loggers, the array must not be modified
+	 */
+	@NonNull
+	Logger[] getLoggers() {
+		return registry.getLoggers();
+	}
+
+	/**
+	 * Global logger with specified appender id, null if not found
+	 */
+	@Nullable
+	Logger getLogger(@Nullable String appenderId) {
+		return registry.get(appenderId);
+	}
+
+	@Nullable
+	private Logger putLogger(@NonNull String appenderId, @NonNull Logger logger) {
+		synchronized (registryLock) {
+			Logger previous = registry.get(appenderId);
+			registry = registry.put(appenderId, logger);
+			return previous;
+		}
+	}
+
+	@Nullable
+	private Logger removeLogger(@NonNull String appenderId) {
+		synchronized (registryLock) {
+			Logger previous = registry.get(appenderId);
+			registry = registry.remove(appenderId);
+			return previous;
+		}
+	}
+
 	/**
 	 * Add global appender, key is identifier of the logger in value
 	 */
@@ -81,7 +194,7 @@ public class LoggerConfig extends Config  {
 			appenderId = appender.getClass().getSimpleName() + "_" + System.currentTimeMillis();
 		}
 		appender.setAppenderId(appenderId);
-		this.loggerMap.put(appenderId, Logger.createWith(appender));
+		stop(putLogger(appenderId, Logger.createWith(appender)));
 		return this;
 	}
 
@@ -90,7 +203,7 @@ public class LoggerConfig extends Config  {
 	 */
 	public LoggerConfig removeAppender(@NonNull String appenderId) {
 		if (!TextUtils.isEmpty(appenderId)) {
-			this.loggerMap.remove(appenderId);
+			stop(removeLogger(appenderId));
 		}
 		return this;
 	}
@@ -100,7 +213,7 @@ public class LoggerConfig extends Config  {
 	 */
 	public LoggerConfig removeAppender(@NonNull Logger logger) {
 		if (logger instanceof AppenderLogger && !TextUtils.isEmpty(((AppenderLogger) logger).getAppender().getAppenderId())) {
-			this.loggerMap.remove(((AppenderLogger) logger).getAppender().getAppenderId());
+			stop(removeLogger(((AppenderLogger) logger).getAppender().getAppenderId()));
 		}
 		return this;
 	}
@@ -116,16 +229,63 @@ public class LoggerConfig extends Config  {
 	 * Remove all appenders
 	 */
 	public LoggerConfig removeAllAppenders() {
-		this.loggerMap.clear();
+		LoggerRegistry previous;
+		synchronized (registryLock) {
+			previous = this.registry;
+			this.registry = LoggerRegistry.EMPTY;
+		}
+		stopAll(previous);
 		return this;
 	}
 
+	private void stopAll(@NonNull LoggerRegistry registry) {
+		for (Logger logger : registry.getLoggers()) {
+			stop(logger);
+		}
+	}
+
+	/**
+	 * Stop the queue thread of the removed appender and release its resources (e.g. close the opened file) after waiting messages are appended
+	 */
+	private void stop(@Nullable Logger logger) {
+		if (logger instanceof AppenderLogger) {
+			AsyncDispatcher dispatcher = this.asyncDispatcher;
+			if (dispatcher != null) {
+				// consumer can still append the message dispatched before the appender was removed
+				dispatcher.drain(ASYNC_DRAIN_TIMEOUT);
+			}
+			((AppenderLogger) logger).shutdownQueue(ASYNC_DRAIN_TIMEOUT);
+			((AppenderLogger) logger).getAppender().release();
+		}
+	}
+
+	/**
+	 * Number of messages that wait in the queue of the appender with specified id
+	 *
+	 * @see AppenderConfig#setQueueSize(int)
+	 */
+	public int getQueueDepth(@NonNull String appenderId) {
+		Logger logger = registry.get(appenderId);
+		return logger instanceof AppenderLogger ? ((AppenderLogger) logger).getQueueDepth() : 0;
+	}
+
+	/**
+	 * Number of messages dropped because the queue of the appender with specified id was full
+	 *
+	 * @see AppenderConfig#setOverflowPolicy(OverflowPolicy)
+	 */
+	public long getDroppedCount(@NonNull String appenderId) {
+		Logger logger = registry.get(appenderId);
+		return logger instanceof AppenderLogger ? ((AppenderLogger) logger).getDroppedCount() : 0;
+	}
+
 	/**
 	 * {@link Level Level} that should be logged as other {@link Level}.
 	 * This is useful on devices that blocked specified levels, e.g. Sony block {@link Level#VERBOSE} and {@link Level#DEBUG}
 	 */
 	public LoggerConfig overwriteLevel(@NonNull Level oldLevel, @NonNull Level newLevel) {
 		this.overwrittenLevels.put(oldLevel, newLevel);
+		levelsChanged();
 		return this;
 	}
 
@@ -134,6 +294,7 @@ public class LoggerConfig extends Config  {
 	 */
 	public LoggerConfig removeLevelOverwriting(@NonNull Level level) {
 		this.overwrittenLevels.remove(level);
+		levelsChanged();
 		return this;
 	}
 
@@ -142,6 +303,7 @@ public class LoggerConfig extends Config  {
 	 */
 	public LoggerConfig removeAllLevelOverwrites() {
 		this.overwrittenLevels.clear();
+		levelsChanged();
 		return this;
 	}
 
@@ -150,6 +312,7 @@ public class LoggerConfig extends Config  {
 	 */
 	public LoggerConfig setLevel(@NonNull Level level) {
 		this.level = level;
+		levelsChanged();
 		return this;
 	}
 
@@ -158,6 +321,8 @@ public class LoggerConfig extends Config  {
 	 */
 	public LoggerConfig setDefaultTag(@NonNull String defaultTag) {
 		this.defaultTag = defaultTag;
+		this.defaultTagTemplate = LogTemplate.compile(defaultTag);
+		changed();
 		return this;
 	}
 
@@ -166,6 +331,7 @@ public class LoggerConfig extends Config  {
 	 */
 	public LoggerConfig setLogThrowableWithStackTrace(boolean logThrowableWithStackTrace) {
 		this.logThrowableWithStackTrace = logThrowableWithStackTrace;
+		changed();
 		return this;
 	}
 
@@ -174,6 +340,7 @@ public class LoggerConfig extends Config  {
 	 */
 	public LoggerConfig setSeparator(@NonNull String separator) {
 		this.separator = separator;
+		changed();
 		return this;
 	}
 
@@ -182,14 +349,77 @@ public class LoggerConfig extends Config  {
 	 */
 	public LoggerConfig setThrowableSeparator(@NonNull String throwableSeparator) {
 		this.throwableSeparator = throwableSeparator;
+		changed();
+		return this;
+	}
+
+	/**
+	 * Maximum number of stack trace frames logged for each throwable and each of its causes, 0 if frames are not limited
+	 */
+	public LoggerConfig setThrowableMaxDepth(int throwableMaxDepth) {
+		if (throwableMaxDepth < 0) {
+			throw new IllegalArgumentException("Throwable max depth cannot be negative");
+		}
+		this.throwableMaxDepth = throwableMaxDepth;
+		this.throwableRenderer = new ThrowableRenderer(throwableMaxDepth, throwableExcludedPackages);
+		return this;
+	}
+
+	/**
+	 * Stack trace frames of the classes from these packages are not logged, e.g. <code>"java.lang.reflect.", "com.android.internal."</code>
+	 */
+	public LoggerConfig setThrowableExcludedPackages(@NonNull String... packages) {
+		this.throwableExcludedPackages = packages.clone();
+		this.throwableRenderer = new ThrowableRenderer(throwableMaxDepth, throwableExcludedPackages);
+		return this;
+	}
+
+	/**
+	 * Limit messages logged with the tag, limiter is shared by all {@link Tag} objects with the specified value.
+	 * Limiter set directly in the {@link Tag#create(String, RateLimiter) tag} takes precedence.
+	 */
+	public synchronized LoggerConfig setRateLimit(@NonNull String tag, @NonNull RateLimiter rateLimiter) {
+		Map<String, RateLimiter> rateLimits = new HashMap<>(this.rateLimits);
+		rateLimits.put(tag, rateLimiter);
+		this.rateLimits = rateLimits;
+		return this;
+	}
+
+	/**
+	 * Remove limit of the messages logged with the tag
+	 */
+	public synchronized LoggerConfig removeRateLimit(@NonNull String tag) {
+		if (rateLimits.containsKey(tag)) {
+			Map<String, RateLimiter> rateLimits = new HashMap<>(this.rateLimits);
+			rateLimits.remove(tag);
+			this.rateLimits = rateLimits;
+		}
 		return this;
 	}
 
+	/**
+	 * Checks if the message with the tag is allowed by its rate limiter, messages without tag are never limited
+	 */
+	boolean tryAcquire(@Nullable Tag tag) {
+		if (tag == null) {
+			return true;
+		}
+		RateLimiter rateLimiter = tag.rateLimiter;
+		if (rateLimiter == null) {
+			Map<String, RateLimiter> rateLimits = this.rateLimits;
+			if (rateLimits.isEmpty() || (rateLimiter = rateLimits.get(tag.value)) == null) {
+				return true;
+			}
+		}
+		return rateLimiter.tryAcquire();
+	}
+
 	/**
 	 * Pattern of the displayed time
 	 */
 	public LoggerConfig setTimePattern(@NonNull String timePattern) {
 		this.timePattern = timePattern;
+		this.timeFormat = LogTimeFormat.compile(timePattern);
 		return this;
 	}
 
@@ -198,11 +428,91 @@ public class LoggerConfig extends Config  {
 	 */
 	public LoggerConfig enableDefaultAppender(boolean enable) {
 		if (enable) {
-			if (!this.loggerMap.containsKey(DEFAULT_APPENDER)) {
-				this.loggerMap.put(DEFAULT_APPENDER, new AppenderLogger(new LogcatAppender()));
+			synchronized (registryLock) {
+				if (!registry.contains(DEFAULT_APPENDER)) {
+					registry = registry.put(DEFAULT_APPENDER, new AppenderLogger(new LogcatAppender()));
+				}
 			}
 		} else {
-			this.loggerMap.remove(DEFAULT_APPENDER);
+			stop(removeLogger(DEFAULT_APPENDER));
+		}
+		return this;
+	}
+
+	/**
+	 * Enable or disable appending messages on the background threads.<p>
+	 * When enabled, logging methods only put messages into the ring buffer and all appenders are called by the background threads.
+	 * Disabling waits until already logged messages are appended.
+	 *
+	 * @see #setAsyncBufferSize(int)
+	 * @see #setAsyncConsumerCount(int)
+	 */
+	public synchronized LoggerConfig enableAsyncDispatch(boolean enable) {
+		AsyncDispatcher dispatcher = this.asyncDispatcher;
+		if (enable) {
+			if (dispatcher == null) {
+				this.asyncDispatcher = new AsyncDispatcher(this, asyncBufferSize, asyncConsumerCount);
+			}
+		} else if (dispatcher != null) {
+			this.asyncDispatcher = null;
+			dispatcher.shutdown(ASYNC_DRAIN_TIMEOUT);
+		}
+		return this;
+	}
+
+	/**
+	 * Number of messages that can wait for the background dispatch, if the buffer is full then logging thread waits for a free slot.
+	 * <p>Default: <code>{@value #DEFAULT_ASYNC_BUFFER_SIZE}</code>
+	 *
+	 * @see #enableAsyncDispatch(boolean)
+	 */
+	public synchronized LoggerConfig setAsyncBufferSize(int asyncBufferSize) {
+		if (asyncBufferSize < 1) {
+			throw new IllegalArgumentException("Buffer size must be greater than 0");
+		}
+		this.asyncBufferSize = asyncBufferSize;
+		restartAsyncDispatch();
+		return this;
+	}
+
+	/**
+	 * Number of the background threads used to append messages. Messages of the single appender are always appended by the same thread.
+	 * <p>Default: <code>1</code>
+	 *
+	 * @see #enableAsyncDispatch(boolean)
+	 */
+	public synchronized LoggerConfig setAsyncConsumerCount(int asyncConsumerCount) {
+		if (asyncConsumerCount < 1) {
+			throw new IllegalArgumentException("Consumer count must be greater than 0");
+		}
+		this.asyncConsumerCount = asyncConsumerCount;
+		restartAsyncDispatch();
+		return this;
+	}
+
+	private void restartAsyncDispatch() {
+		if (asyncDispatcher != null) {
+			enableAsyncDispatch(false);
+			enableAsyncDispatch(true);
+		}
+	}
+
+	/**
+	 * Wait until all messages waiting for the background dispatch and in the appender queues are appended and write messages buffered by the appenders
+	 *
+	 * @see #enableAsyncDispatch(boolean)
+	 * @see AppenderConfig#setQueueSize(int)
+	 */
+	public LoggerConfig flush() {
+		AsyncDispatcher dispatcher = this.asyncDispatcher;
+		if (dispatcher != null) {
+			dispatcher.drain(ASYNC_DRAIN_TIMEOUT);
+		}
+		for (Logger logger : registry.getLoggers()) {
+			if (logger instanceof AppenderLogger) {
+				((AppenderLogger) logger).drainQueue(ASYNC_DRAIN_TIMEOUT);
+				((AppenderLogger) logger).getAppender().flush();
+			}
 		}
 		return this;
 	}
@@ -234,6 +544,7 @@ public class LoggerConfig extends Config  {
 		if (catchUncaughtExceptions) {
 			Thread.setDefaultUncaughtExceptionHandler((thread, ex) -> {
 				Logger.error(ex);
+				flush();
 				if (handler == null || !handler.uncaughtException(thread, ex)) {
 					android.os.Process.killProcess(android.os.Process.myPid());
 					System.exit(10);
@@ -277,6 +588,31 @@ public class LoggerConfig extends Config  {
 		if (config.containsKey("defaultTag")) {
 			setDefaultTag(config.get("defaultTag"));
 		}
+		if (config.containsKey("throwableMaxDepth")) {
+			setThrowableMaxDepth(Integer.parseInt(config.get("throwableMaxDepth")));
+		}
+		if (config.containsKey("throwableExcludedPackages")) {
+			String packages = config.get("throwableExcludedPackages").trim();
+			setThrowableExcludedPackages(packages.isEmpty() ? new String[0] : packages.split("\\s*,\\s*"));
+		}
+		if (config.containsKey("rateLimits")) {
+			for (String rateLimit : config.get("rateLimits").split(",")) {
+				int separator = rateLimit.lastIndexOf(':');
+				if (separator <= 0) {
+					throw new IllegalArgumentException("Rate limit must be defined as tag:limit, was: " + rateLimit);
+				}
+				setRateLimit(rateLimit.substring(0, separator).trim(), RateLimiter.parse(rateLimit.substring(separator + 1)));
+			}
+		}
+		if (config.containsKey("asyncBufferSize")) {
+			setAsyncBufferSize(Integer.parseInt(config.get("asyncBufferSize")));
+		}
+		if (config.containsKey("asyncConsumerCount")) {
+			setAsyncConsumerCount(Integer.parseInt(config.get("asyncConsumerCount")));
+		}
+		if (config.containsKey("asyncDispatch")) {
+			enableAsyncDispatch(Boolean.parseBoolean(config.get("asyncDispatch")));
+		}
 	}
 
 	public interface LoggerUncaughtExceptionHandler {
@@ -0,0 +1,103 @@
+package software.rsquared.androidlogger;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Immutable snapshot of the global appenders.<p>
+ * Loggers are kept in the plain array so the logging threads iterate them without locking and iterator allocation,
+ * each change creates a new snapshot that replaces the previous one in the {@link LoggerConfig}.
+ *
+ * @author Rafał Zajfert
+ */
+final class LoggerRegistry {
+
+	static final LoggerRegistry EMPTY = new LoggerRegistry(new String[0], new Logger[0]);
+
+	@NonNull
+	private final String[] ids;
+
+	@NonNull
+	private final Logger[] loggers;
+
+	private LoggerRegistry(@NonNull String[] ids, @NonNull Logger[] loggers) {
+		this.ids = ids;
+		this.loggers = loggers;
+	}
+
+	/**
+	 * Loggers in the order they were added, the array must not be modified
+	 */
+	@NonNull
+	Logger[] getLoggers() {
+		return loggers;
+	}
+
+	/**
+	 * Logger with specified appender id, null if not found
+	 */
+	@Nullable
+	Logger get(@Nullable String id) {
+		int index = indexOf(id);
+		return index < 0 ? null : loggers[index];
+	}
+
+	boolean contains(@Nullable String id) {
+		return indexOf(id) >= 0;
+	}
+
+	/**
+	 * Snapshot with added logger, logger with the same id is replaced at its position
+	 */
+	@NonNull
+	LoggerRegistry put(@NonNull String id, @NonNull Logger logger) {
+		int index = indexOf(id);
+		if (index >= 0) {
+			Logger[] newLoggers = loggers.clone();
+			newLoggers[index] = logger;
+			return new LoggerRegistry(ids, newLoggers);
+		}
+		int length = ids.length;
+		String[] newIds = new String[length + 1];
+		Logger[] newLoggers = new Logger[length + 1];
+		System.arraycopy(ids, 0, newIds, 0, length);
+		System.arraycopy(loggers, 0, newLoggers, 0, length);
+		newIds[length] = id;
+		newLoggers[length] = logger;
+		return new LoggerRegistry(newIds, newLoggers);
+	}
+
+	/**
+	 * Snapshot without the logger with specified id
+	 */
+	@NonNull
+	LoggerRegistry remove(@Nullable String id) {
+		int index = indexOf(id);
+		if (index < 0) {
+			return this;
+		}
+		int length = ids.length - 1;
+		if (length == 0) {
+			return EMPTY;
+		}
+		String[] newIds = new String[length];
+		Logger[] newLoggers = new Logger[length];
+		System.arraycopy(ids, 0, newIds, 0, index);
+		System.arraycopy(loggers, 0, newLoggers, 0, index);
+		System.arraycopy(ids, index + 1, newIds, index, length - index);
+		System.arraycopy(loggers, index + 1, newLoggers, index, length - index);
+		return new LoggerRegistry(newIds, newLoggers);
+	}
+
+	private int indexOf(@Nullable String id) {
+		if (id == null) {
+			return -1;
+		}
+		for (int i = 0; i < ids.length; i++) {
+			if (id.equals(ids[i])) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
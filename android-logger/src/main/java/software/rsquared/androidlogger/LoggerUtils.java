@@ -18,21 +18,47 @@ package software.rsquared.androidlogger;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import android.text.TextUtils;
-
-import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.io.Writer;
-import java.util.Calendar;
-import java.util.HashMap;
+
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Rafal Zajfert
  */
 abstract class LoggerUtils {
 
+	/**
+	 * Event appended on the current thread, used to share caller location and time between all appenders
+	 */
+	private static final ThreadLocal<LogEvent> currentEvent = new ThreadLocal<>();
+
+	/**
+	 * Names of the classes checked with {@link #isLoggerClass(String)}, shared between threads so each class is looked up only once
+	 */
+	private static final Map<String, Boolean> loggerClassCache = new ConcurrentHashMap<>();
+
+	/**
+	 * Classes that take part in appending messages but don't extend {@link Logger} or {@link Appender}
+	 */
+	private static final Class<?>[] INTERNAL_CLASSES = {LoggerUtils.class, LogEvent.class, LogTemplate.class, AsyncDispatcher.class, AppenderQueue.class};
+
+	@Nullable
+	static LogEvent getCurrentEvent() {
+		return currentEvent.get();
+	}
+
+	/**
+	 * Set event appended on the current thread
+	 *
+	 * @return previously set event
+	 */
+	@Nullable
+	static LogEvent setCurrentEvent(@Nullable LogEvent event) {
+		LogEvent previous = currentEvent.get();
+		currentEvent.set(event);
+		return previous;
+	}
+
 	@SafeVarargs
 	static <T> String array2String(@NonNull String separator, T... array) {
 		if (array == null) {
@@ -62,7 +88,7 @@ abstract class LoggerUtils {
 	 */
 	@NonNull
 	static String formatTag(@NonNull String tag, @NonNull Level level) {
-		return replaceFormatValues(tag, level);
+		return LogTemplate.format(tag, level);
 	}
 
 	/**
@@ -70,86 +96,56 @@ abstract class LoggerUtils {
 	 */
 	@NonNull
 	static String formatMessage(@NonNull Object msg, @NonNull Level level) {
-		return replaceFormatValues(msg + "", level);
+		return LogTemplate.format(String.valueOf(msg), level);
 	}
 
 	/**
-	 * Converts {@link Throwable} to String, if <code>withStackTrace</code> is true it would be full stacktrace of the Throwable, otherwise only message
+	 * Converts {@link Throwable} to String, if <code>withStackTrace</code> is true it would be stacktrace of the Throwable
+	 * rendered with the {@link LoggerConfig#getThrowableRenderer() configured renderer}, otherwise only message
 	 */
-	@NonNull
 	static String throwableToString(@NonNull Throwable throwable, boolean withStackTrace) {
 		if (withStackTrace) {
-			try (Writer writer = new StringWriter();
-				 PrintWriter printWriter = new PrintWriter(writer);) {
-				throwable.printStackTrace(printWriter);
-				return writer.toString();
-			} catch (IOException ignored) {
-			}
+			return LoggerConfig.getInstance().getThrowableRenderer().render(throwable);
 		}
 		return throwable.getMessage();
 	}
 
 	/**
-	 * Replace all constant tags with values
+	 * Returns time of the event appended on the current thread formatted with {@link LoggerConfig#getTimePattern()}
 	 */
-	@NonNull
-	private static String replaceFormatValues(@NonNull String text, @NonNull Level level) {
-		if (TextUtils.isEmpty(text)) {
-			return "";
-		}
-
-		Map<String, String> map = getStackTraceFieldMap();
-		if (map != null) {
-			text = replaceCodeLine(text);
-			for (Map.Entry<String, String> entry : map.entrySet()) {
-				String target = entry.getKey();
-				String replacement = entry.getValue();
-				if (target != null && replacement != null) {
-					text = text.replace(target, replacement);
-				}
-			}
-		}
-		String levelName = level.name();
-		if (levelName != null) {
-			text = text.replace(Logger.LEVEL, levelName);
-			text = text.replace(Logger.SHORT_LEVEL, levelName.substring(0, 1));
-		}
-		String time = getTime();
-		if (time != null) {
-			text = text.replace(Logger.CURRENT_TIME, time);
-		}
-
-		return text;
+	static String getTime() {
+		return LoggerConfig.getInstance().getTimeFormat().format(getTimeMillis());
 	}
 
-	private static String getTime() {
-		return String.format(LoggerConfig.getInstance().getTimePattern(), Calendar.getInstance());
+	/**
+	 * Returns time of the event appended on the current thread or current time if there is no such event
+	 */
+	static long getTimeMillis() {
+		LogEvent event = currentEvent.get();
+		return event != null ? event.time : System.currentTimeMillis();
 	}
 
 	public static String replaceCodeLine(@NonNull String text) {
 		return text.replace(Logger.CODE_LINE, "(" + Logger.FILE_NAME + ":" + Logger.LINE_NUMBER + ")");
 	}
 
+	/**
+	 * Returns caller location of the event appended on the current thread or searches the current stack if there is no such event
+	 */
 	@Nullable
-	private static Map<String, String> getStackTraceFieldMap() {
-		final StackTraceElement element = getStackTraceElement();
-		if (element == null) {
-			return null;
+	static StackTraceElement getStackTraceElement() {
+		LogEvent event = currentEvent.get();
+		if (event != null) {
+			return event.getCaller();
 		}
-		Map<String, String> stackMap = new HashMap<>();
-
-
-		stackMap.put(Logger.CLASS_NAME, getField(element, StackTraceField.SIMPLE_CLASS_NAME));
-		stackMap.put(Logger.FULL_CLASS_NAME, getField(element, StackTraceField.FULL_CLASS_NAME));
-		stackMap.put(Logger.METHOD_NAME, getField(element, StackTraceField.METHOD_NAME));
-		stackMap.put(Logger.FILE_NAME, getField(element, StackTraceField.FILE_NAME));
-		stackMap.put(Logger.LINE_NUMBER, getField(element, StackTraceField.LINE_NUMBER));
-
-		return stackMap;
+		return findCaller();
 	}
 
+	/**
+	 * Searches the stack of the current thread for the first element outside the logger classes
+	 */
 	@Nullable
-	private static StackTraceElement getStackTraceElement() {
+	static StackTraceElement findCaller() {
 		StackTraceElement[] elements = Thread.currentThread().getStackTrace();
 		if (elements == null || elements.length <= 2) {
 			return null;
@@ -171,8 +167,7 @@ abstract class LoggerUtils {
 				return element.getClassName();
 			case SIMPLE_CLASS_NAME:
 				String className = element.getClassName();
-				String[] parts = className.split("\\.");
-				return parts.length > 0 ? parts[parts.length-1] : "";
+				return className.substring(className.lastIndexOf('.') + 1);
 			case FILE_NAME:
 				return element.getFileName();
 			case METHOD_NAME:
@@ -185,9 +180,27 @@ abstract class LoggerUtils {
 	}
 
 	private static boolean isLoggerClass(@NonNull String className) {
-		return className.equalsIgnoreCase("software.rsquared.androidlogger.LoggerUtils")
-				|| classExtendLogger(className)
-				|| classExtendAppender(className);
+		Boolean loggerClass = loggerClassCache.get(className);
+		if (loggerClass == null) {
+			loggerClass = isInternalClass(className)
+					|| classExtendLogger(className)
+					|| classExtendAppender(className);
+			loggerClassCache.put(className, loggerClass);
+		}
+		return loggerClass;
+	}
+
+	/**
+	 * Checks if class with specified name (or its inner class) is one of the {@link #INTERNAL_CLASSES}
+	 */
+	private static boolean isInternalClass(@NonNull String className) {
+		for (Class<?> internalClass : INTERNAL_CLASSES) {
+			String name = internalClass.getName();
+			if (className.startsWith(name) && (className.length() == name.length() || className.charAt(name.length()) == '$')) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -0,0 +1,38 @@
+package software.rsquared.androidlogger;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Finds boundaries of the chunks of a long message by scanning its characters, without regular expressions and intermediate copies.<p>
+ * Chunk ends after the last whitespace that fits into the chunk, words longer than the chunk are split at the chunk size
+ * (but never between the surrogate pair).
+ *
+ * @author Rafał Zajfert
+ */
+final class MessageChunker {
+
+	private MessageChunker() {
+	}
+
+	/**
+	 * Returns end index (exclusive) of the chunk that starts at the specified index
+	 *
+	 * @param maxLength maximum number of characters in the chunk, must be greater than 0
+	 */
+	static int nextChunkEnd(@NonNull CharSequence text, int start, int maxLength) {
+		int length = text.length();
+		if (length - start <= maxLength) {
+			return length;
+		}
+		int limit = start + maxLength;
+		for (int i = limit - 1; i > start; i--) {
+			if (Character.isWhitespace(text.charAt(i))) {
+				return i + 1;
+			}
+		}
+		if (Character.isHighSurrogate(text.charAt(limit - 1)) && limit - 1 > start) {
+			return limit - 1;
+		}
+		return limit;
+	}
+}
@@ -0,0 +1,15 @@
+package software.rsquared.androidlogger;
+
+/**
+ * Supplier of the log message. It is called only if the message will be appended by at least one appender,
+ * so expensive messages cost nothing when their {@link Level} is disabled.
+ *
+ * @author Rafał Zajfert
+ */
+public interface MessageSupplier {
+
+	/**
+	 * @return message to log
+	 */
+	Object get();
+}
@@ -0,0 +1,25 @@
+package software.rsquared.androidlogger;
+
+/**
+ * Behaviour of the appender queue when the appender is slower than the logging threads and its queue is full
+ *
+ * @author Rafał Zajfert
+ * @see AppenderConfig#setQueueSize(int)
+ */
+public enum OverflowPolicy {
+	/**
+	 * Logging thread waits until the appender frees a slot in the queue
+	 */
+	BLOCK,
+
+	/**
+	 * Oldest waiting message is dropped to make room for the new one
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * New messages with level below {@link AppenderConfig#setOverflowLevel(Level) overflow level} are dropped,
+	 * messages with higher level wait like with the {@link #BLOCK} policy
+	 */
+	DROP_BELOW_LEVEL
+}
@@ -0,0 +1,151 @@
+package software.rsquared.androidlogger;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the number of messages logged with the {@link Tag}, e.g. by the code that runs in the hot loop.<p>
+ * Limiter is checked right after the level and before the message is formatted or the caller location is captured.
+ * It allows at most N messages per second ({@link #perSecond(int)}) or every K-th message ({@link #sampling(int)}).
+ * Counters are updated with atomic operations only, so logging threads never wait for each other.
+ *
+ * @author Rafał Zajfert
+ * @see Tag#create(String, RateLimiter)
+ * @see LoggerConfig#setRateLimit(String, RateLimiter)
+ */
+public final class RateLimiter {
+
+	private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+	private static final Clock SYSTEM_CLOCK = SystemClock::elapsedRealtime;
+
+	@NonNull
+	private final Clock clock;
+
+	/**
+	 * Maximum number of messages in one second, 0 if messages are sampled
+	 */
+	private final int limit;
+
+	/**
+	 * Every sampleRate-th message is logged, 0 if messages are limited per second
+	 */
+	private final int sampleRate;
+
+	/**
+	 * Second of the current window in the upper 32 bits and number of messages in the window (including rejected ones) in the lower 32 bits
+	 */
+	private final AtomicLong state = new AtomicLong();
+
+	/**
+	 * Number of rejected messages of the windows that already ended, or number of all messages if messages are sampled
+	 */
+	private final AtomicLong counter = new AtomicLong();
+
+	private RateLimiter(int limit, int sampleRate, @NonNull Clock clock) {
+		this.clock = clock;
+		this.limit = limit;
+		this.sampleRate = sampleRate;
+	}
+
+	/**
+	 * Allows at most <code>limit</code> messages in each second
+	 */
+	@NonNull
+	public static RateLimiter perSecond(int limit) {
+		return perSecond(limit, SYSTEM_CLOCK);
+	}
+
+	/**
+	 * Allows at most <code>limit</code> messages in each second of the clock
+	 */
+	@NonNull
+	static RateLimiter perSecond(int limit, @NonNull Clock clock) {
+		if (limit < 1) {
+			throw new IllegalArgumentException("Limit must be greater than 0");
+		}
+		return new RateLimiter(limit, 0, clock);
+	}
+
+	/**
+	 * Allows only the first message of each <code>rate</code> messages (1-in-rate sampling)
+	 */
+	@NonNull
+	public static RateLimiter sampling(int rate) {
+		if (rate < 1) {
+			throw new IllegalArgumentException("Sample rate must be greater than 0");
+		}
+		return new RateLimiter(0, rate, SYSTEM_CLOCK);
+	}
+
+	/**
+	 * Creates limiter from the text: <code>N/s</code> allows N messages per second, <code>1/K</code> allows every K-th message
+	 */
+	@NonNull
+	public static RateLimiter parse(@NonNull String value) {
+		String text = value.trim();
+		int slash = text.indexOf('/');
+		if (slash > 0) {
+			String count = text.substring(0, slash).trim();
+			String unit = text.substring(slash + 1).trim();
+			try {
+				if ("s".equals(unit)) {
+					return perSecond(Integer.parseInt(count));
+				}
+				if ("1".equals(count)) {
+					return sampling(Integer.parseInt(unit));
+				}
+			} catch (NumberFormatException ignored) {
+			}
+		}
+		throw new IllegalArgumentException("Rate limit must be defined as N/s or 1/K, was: " + value);
+	}
+
+	/**
+	 * Returns true if the message can be logged, each call is counted as the message
+	 */
+	boolean tryAcquire() {
+		if (sampleRate > 0) {
+			return counter.getAndIncrement() % sampleRate == 0;
+		}
+		long second = clock.elapsedRealtime() / 1000;
+		long current = state.get();
+		// only the first message of the new second resets the window, a thread that read the time earlier never moves it back
+		while ((current >>> 32) < second) {
+			if (state.compareAndSet(current, second << 32 | 1)) {
+				long count = current & COUNT_MASK;
+				if (count > limit) {
+					counter.addAndGet(count - limit);
+				}
+				return true;
+			}
+			current = state.get();
+		}
+		return (state.incrementAndGet() & COUNT_MASK) <= limit;
+	}
+
+	/**
+	 * Number of messages rejected by this limiter
+	 */
+	public long getDroppedCount() {
+		if (sampleRate > 0) {
+			long count = counter.get();
+			return count - (count + sampleRate - 1) / sampleRate;
+		}
+		long count = state.get() & COUNT_MASK;
+		return counter.get() + Math.max(0, count - limit);
+	}
+
+	/**
+	 * Source of the time of the windows, {@link SystemClock#elapsedRealtime()} unless replaced in tests
+	 */
+	interface Clock {
+
+		/**
+		 * Milliseconds since the fixed point in time, never goes back
+		 */
+		long elapsedRealtime();
+	}
+}
@@ -0,0 +1,39 @@
+package software.rsquared.androidlogger;
+
+import android.support.annotation.Nullable;
+
+/**
+ * Text rendered from the {@link LogEvent} together with the settings it was rendered with, so an appender with the same settings can reuse it.<p>
+ * Entries are immutable, events of the {@link AsyncDispatcher} are rendered by multiple consumer threads at once and a thread must never see
+ * the text of one entry with the keys of another.
+ *
+ * @author Rafał Zajfert
+ */
+final class RenderedText {
+
+	@Nullable
+	private final Object key1;
+
+	@Nullable
+	private final Object key2;
+
+	@Nullable
+	private final Object key3;
+
+	@Nullable
+	final String text;
+
+	RenderedText(@Nullable Object key1, @Nullable Object key2, @Nullable Object key3, @Nullable String text) {
+		this.key1 = key1;
+		this.key2 = key2;
+		this.key3 = key3;
+		this.text = text;
+	}
+
+	/**
+	 * Checks if the text was rendered with the same settings, keys are compared by identity
+	 */
+	boolean matches(@Nullable Object key1, @Nullable Object key2, @Nullable Object key3) {
+		return this.key1 == key1 && this.key2 == key2 && this.key3 == key3;
+	}
+}
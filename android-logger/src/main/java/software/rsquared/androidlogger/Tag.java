@@ -1,16 +1,54 @@
 package software.rsquared.androidlogger;
 
+import android.support.annotation.Nullable;
+
 /**
  * @author Rafał Zajfert
  */
 public final class Tag {
 	final String value;
 
+	/**
+	 * Limiter of the messages logged with this tag, null if the tag is limited only by the {@link LoggerConfig#setRateLimit(String, RateLimiter) config}
+	 */
+	@Nullable
+	final RateLimiter rateLimiter;
+
+	/**
+	 * Template compiled from the value on first use
+	 */
+	private LogTemplate template;
+
 	public Tag(String value) {
+		this(value, null);
+	}
+
+	/**
+	 * @param rateLimiter limiter of the messages logged with this tag, tag kept in the constant limits messages of the single call site
+	 */
+	public Tag(String value, @Nullable RateLimiter rateLimiter) {
 		this.value = value;
+		this.rateLimiter = rateLimiter;
 	}
 
 	public static Tag create(String value) {
 		return new Tag(value);
 	}
+
+	/**
+	 * @param rateLimiter limiter of the messages logged with this tag, tag kept in the constant limits messages of the single call site
+	 */
+	public static Tag create(String value, @Nullable RateLimiter rateLimiter) {
+		return new Tag(value, rateLimiter);
+	}
+
+	/**
+	 * @return template compiled from the value or null if value is empty
+	 */
+	LogTemplate getTemplate() {
+		if (template == null) {
+			template = LogTemplate.compile(value);
+		}
+		return template;
+	}
 }
@@ -0,0 +1,185 @@
+package software.rsquared.androidlogger;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Renders stack traces of the throwables in the {@link Throwable#printStackTrace()} format directly into the {@link StringBuilder}.<p>
+ * Number of the frames printed for each throwable can be limited, frames of the excluded packages are skipped and frames that the cause
+ * has in common with the enclosing throwable are elided. Rendered texts are kept in the small cache keyed by the throwable identity,
+ * so the same throwable logged by many appenders or many times in a row is rendered once.<p>
+ * Renderers are immutable, {@link LoggerConfig} creates a new one when the settings change.
+ *
+ * @author Rafał Zajfert
+ */
+final class ThrowableRenderer {
+
+	/**
+	 * Number of the cached texts, must be a power of 2
+	 */
+	private static final int CACHE_SIZE = 16;
+
+	private static final String CAUSE_CAPTION = "Caused by: ";
+
+	private static final String SUPPRESSED_CAPTION = "Suppressed: ";
+
+	/**
+	 * True if the {@link Throwable#getSuppressed()} is available (API 19), checked by reflection instead of the SDK version,
+	 * so suppressed throwables are rendered also in the unit tests that run on the JVM
+	 */
+	private static final boolean SUPPRESSED_SUPPORTED = isSuppressedSupported();
+
+	/**
+	 * Maximum number of frames printed for each throwable, 0 if frames are not limited
+	 */
+	private final int maxDepth;
+
+	/**
+	 * Prefixes of the class names whose frames are not printed
+	 */
+	@NonNull
+	private final String[] excludedPackages;
+
+	/**
+	 * Direct mapped cache indexed by the {@link System#identityHashCode(Object) identity hash} of the throwable.
+	 * Entries are immutable, so threads that race for the same index never see mixed values.
+	 */
+	private final CacheEntry[] cache = new CacheEntry[CACHE_SIZE];
+
+	ThrowableRenderer(int maxDepth, @NonNull String[] excludedPackages) {
+		this.maxDepth = maxDepth;
+		this.excludedPackages = excludedPackages;
+	}
+
+	/**
+	 * Returns stack trace of the throwable and all its causes
+	 */
+	@NonNull
+	String render(@NonNull Throwable throwable) {
+		int index = System.identityHashCode(throwable) & (CACHE_SIZE - 1);
+		CacheEntry entry = cache[index];
+		if (entry != null && entry.throwable.get() == throwable) {
+			return entry.text;
+		}
+		StringBuilder builder = new StringBuilder(1024);
+		Set<Throwable> rendered = Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>());
+		render(builder, throwable, null, "", "", rendered);
+		String text = builder.toString();
+		cache[index] = new CacheEntry(throwable, text);
+		return text;
+	}
+
+	/**
+	 * @param enclosingTrace stack trace of the throwable that caused or suppressed this one, frames in common with it are elided
+	 * @param rendered       throwables already rendered, used to stop at circular references
+	 */
+	private void render(@NonNull StringBuilder builder, @NonNull Throwable throwable, @Nullable StackTraceElement[] enclosingTrace,
+						@NonNull String caption, @NonNull String prefix, @NonNull Set<Throwable> rendered) {
+		if (!rendered.add(throwable)) {
+			builder.append(prefix).append(caption).append("[CIRCULAR REFERENCE: ").append(throwable).append("]\n");
+			return;
+		}
+		builder.append(prefix).append(caption).append(throwable).append('\n');
+
+		StackTraceElement[] trace = throwable.getStackTrace();
+		int end = trace.length;
+		if (enclosingTrace != null) {
+			int i = enclosingTrace.length - 1;
+			while (end > 0 && i >= 0 && trace[end - 1].equals(enclosingTrace[i])) {
+				end--;
+				i--;
+			}
+		}
+		int printed = 0;
+		int excluded = 0;
+		int frame = 0;
+		for (; frame < end; frame++) {
+			if (maxDepth > 0 && printed >= maxDepth) {
+				break;
+			}
+			if (isExcluded(trace[frame])) {
+				excluded++;
+				continue;
+			}
+			if (excluded > 0) {
+				appendExcluded(builder, prefix, excluded);
+				excluded = 0;
+			}
+			builder.append(prefix).append("\tat ").append(trace[frame]).append('\n');
+			printed++;
+		}
+		if (excluded > 0) {
+			appendExcluded(builder, prefix, excluded);
+		}
+		int more = trace.length - frame;
+		if (more > 0) {
+			builder.append(prefix).append("\t... ").append(more).append(" more\n");
+		}
+
+		if (SUPPRESSED_SUPPORTED) {
+			renderSuppressed(builder, throwable, trace, prefix, rendered);
+		}
+		Throwable cause = throwable.getCause();
+		if (cause != null) {
+			render(builder, cause, trace, CAUSE_CAPTION, prefix, rendered);
+		}
+	}
+
+	@TargetApi(Build.VERSION_CODES.KITKAT)
+	private void renderSuppressed(@NonNull StringBuilder builder, @NonNull Throwable throwable, @NonNull StackTraceElement[] trace,
+								  @NonNull String prefix, @NonNull Set<Throwable> rendered) {
+		for (Throwable suppressed : throwable.getSuppressed()) {
+			render(builder, suppressed, trace, SUPPRESSED_CAPTION, prefix + "\t", rendered);
+		}
+	}
+
+	private static boolean isSuppressedSupported() {
+		try {
+			Throwable.class.getMethod("getSuppressed");
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private boolean isExcluded(@NonNull StackTraceElement element) {
+		if (excludedPackages.length == 0) {
+			return false;
+		}
+		String className = element.getClassName();
+		for (String excludedPackage : excludedPackages) {
+			if (className.startsWith(excludedPackage)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void appendExcluded(@NonNull StringBuilder builder, @NonNull String prefix, int count) {
+		builder.append(prefix).append("\t... ").append(count).append(count == 1 ? " excluded frame\n" : " excluded frames\n");
+	}
+
+	private static final class CacheEntry {
+
+		/**
+		 * Weak reference, so the cache doesn't keep throwables and objects referenced by them
+		 */
+		@NonNull
+		final WeakReference<Throwable> throwable;
+
+		@NonNull
+		final String text;
+
+		CacheEntry(@NonNull Throwable throwable, @NonNull String text) {
+			this.throwable = new WeakReference<>(throwable);
+			this.text = text;
+		}
+	}
+}
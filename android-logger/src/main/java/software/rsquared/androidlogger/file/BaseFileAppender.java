@@ -23,6 +23,7 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.util.concurrent.TimeUnit;
 
 import software.rsquared.androidlogger.Appender;
 import software.rsquared.androidlogger.ConfigurableAppender;
@@ -44,18 +45,69 @@ public abstract class BaseFileAppender<E extends BaseFileAppenderConfig> extends
 
     protected static final String DEFAULT_LOG_FILE = "logger.log";
 
+    /**
+     * Opened log file, used only if {@link #isFileKeptOpen(BaseFileAppenderConfig)} returns true
+     */
+    private LogFileWriter writer;
+
+    private boolean flushScheduled;
+
     public BaseFileAppender() {
     }
 
     @Override
     protected void append(Level level, String tag, String message) {
+        String text = tag + Logger.SPACE + message + Logger.NEW_LINE;
+        if (isFileKeptOpen(getConfig())) {
+            writeToFile(getLogFile(), text, level);
+            return;
+        }
+        closeWriter();
         try {
-            writeToFile(createFileIfNeeded(), tag + Logger.SPACE + message + Logger.NEW_LINE);
+            writeToFile(createFileIfNeeded(), text, level);
         } catch (IOException e) {
             logger.e(e);
         }
     }
 
+    /**
+     * Returns true if the log file should be opened only with the first message (or after rollover or I/O error)
+     * instead of opening it for every message
+     */
+    protected boolean isFileKeptOpen(BaseFileAppenderConfig config) {
+        return config != null && config.isBufferedWrite();
+    }
+
+    /**
+     * Append message to the end of the file. If {@link BaseFileAppenderConfig#isBufferedWrite() buffered write} is enabled
+     * the message is written through the buffer of the opened file.
+     */
+    protected synchronized void writeToFile(File file, String string, Level level) {
+        BaseFileAppenderConfig config = getConfig();
+        if (!isFileKeptOpen(config)) {
+            writeToFile(file, string);
+            return;
+        }
+        file = prepareFile(file);
+        try {
+            LogFileWriter writer = obtainWriter(file, config);
+            writer.write(string);
+            afterWrite(writer, level, config);
+        } catch (IOException e) {
+            closeWriter();
+            logger.e("Cannot write log to file", e);
+        }
+    }
+
+    /**
+     * Called before the message is written to the opened file, e.g. to roll the file over
+     *
+     * @return file where the message should be written
+     */
+    protected File prepareFile(File file) {
+        return file;
+    }
+
     /**
      * Append string to the end of the file
      */
@@ -67,10 +119,96 @@ public abstract class BaseFileAppender<E extends BaseFileAppenderConfig> extends
         }
     }
 
+    /**
+     * Returns writer of the file, file is opened if needed. Must be called with the appender lock held.
+     */
+    @NonNull
+    LogFileWriter obtainWriter(File file, BaseFileAppenderConfig config) throws IOException {
+        if (writer != null && !writer.getFile().equals(file)) {
+            closeWriter();
+        }
+        if (writer == null) {
+            writer = new LogFileWriter(createFileIfNeeded(file), config.getFlushBufferSize());
+        }
+        return writer;
+    }
+
+    /**
+     * Flush written message according to the flush policy of the config. Must be called with the appender lock held.
+     */
+    void afterWrite(LogFileWriter writer, Level level, BaseFileAppenderConfig config) throws IOException {
+        if (!config.isBufferedWrite() || level.ordinal() >= config.getFlushLevel().ordinal() || writer.getBufferedBytes() >= config.getFlushBufferSize()) {
+            writer.flush();
+        } else if (config.getFlushInterval() > 0 && !flushScheduled) {
+            flushScheduled = true;
+            FileAppenderExecutor.get().schedule(this::flushScheduled, config.getFlushInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void flushScheduled() {
+        flushScheduled = false;
+        flush();
+    }
+
+    /**
+     * Size of the file including messages that are not flushed yet
+     */
+    protected synchronized long getFileSize(File file) {
+        if (writer != null && writer.getFile().equals(file)) {
+            return writer.size();
+        }
+        return file.length();
+    }
+
+    /**
+     * Write all buffered messages to the file
+     */
+    @Override
+    protected synchronized void flush() {
+        if (writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                closeWriter();
+                logger.e("Cannot write log to file", e);
+            }
+        }
+    }
+
+    /**
+     * Close the log file kept open by the appender
+     */
+    @Override
+    protected void release() {
+        closeWriter();
+    }
+
+    /**
+     * Flush buffered messages and close the log file, it will be opened again with the next message
+     */
+    protected synchronized void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.e("Cannot close Log file", e);
+            }
+            writer = null;
+        }
+    }
+
     /**
      * clear log file
      */
     public synchronized void clearLogFile() {
+        if (writer != null) {
+            try {
+                writer.truncate();
+                return;
+            } catch (IOException e) {
+                closeWriter();
+            }
+        }
         try (RandomAccessFile file = new RandomAccessFile(getLogFile(), "rw");){
             file.setLength(0);
         } catch (IOException e) {
@@ -84,8 +222,14 @@ public abstract class BaseFileAppender<E extends BaseFileAppenderConfig> extends
      */
     @NonNull
     protected File createFileIfNeeded() throws IOException {
-        File file = getLogFile();
+        return createFileIfNeeded(getLogFile());
+    }
 
+    /**
+     * return the file or create it when does not exist
+     */
+    @NonNull
+    protected File createFileIfNeeded(@NonNull File file) throws IOException {
         if (file.isDirectory()){
             throw new IOException("The Log file cannot be directory");
         }
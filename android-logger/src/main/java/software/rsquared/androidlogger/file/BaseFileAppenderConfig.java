@@ -27,6 +27,7 @@ import java.util.Calendar;
 import java.util.Map;
 
 import software.rsquared.androidlogger.AppenderConfig;
+import software.rsquared.androidlogger.Level;
 
 /**
  * @author Rafal Zajfert
@@ -35,6 +36,13 @@ import software.rsquared.androidlogger.AppenderConfig;
 public abstract class BaseFileAppenderConfig<E extends BaseFileAppenderConfig> extends AppenderConfig<E> {
 	public static final String DATE_PATTERN = "%1$td_%1$tm_%1$tY";
 	public static final String DATE = "$Date$";
+	public static final int DEFAULT_FLUSH_BUFFER_SIZE = 8 * 1024;
+	public static final long DEFAULT_FLUSH_INTERVAL = 1000;
+
+	private static final int B = 1;
+	private static final int KB = 1024 * B;
+	private static final int MB = 1024 * KB;
+	private static final int GB = 1024 * MB;
 
 	private File logFile = null;
 
@@ -43,7 +51,18 @@ public abstract class BaseFileAppenderConfig<E extends BaseFileAppenderConfig> e
 
 	private String logFilePath;
 
+	private boolean bufferedWrite = false;
+
+	private int flushBufferSize = DEFAULT_FLUSH_BUFFER_SIZE;
+
+	private long flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+	@NonNull
+	private Level flushLevel = Level.ERROR;
+
 	BaseFileAppenderConfig() {
+		// each line of the file has no length limit
+		setChunkSize(0);
 	}
 
 	/**
@@ -105,7 +124,29 @@ public abstract class BaseFileAppenderConfig<E extends BaseFileAppenderConfig> e
 			return setLogFile(null, true);
 		}
 
-		return setLogFile(new File(Environment.getExternalStorageDirectory(), invalidatePath(path)), true);
+		return setLogFile(new File(Environment.getExternalStorageDirectory(), path).getAbsolutePath());
+	}
+
+	/**
+	 * Path of the log file as it was set, with the {@link #DATE} placeholder
+	 */
+	@Nullable
+	String getLogFilePath() {
+		return logFilePath;
+	}
+
+	/**
+	 * Replace {@link #DATE} in the path of the log file with current date
+	 *
+	 * @return true if the log file was changed
+	 */
+	boolean refreshLogFile() {
+		if (logFilePath == null || !logFilePath.contains(DATE)) {
+			return false;
+		}
+		File previous = logFile;
+		setLogFile(logFilePath);
+		return !logFile.equals(previous);
 	}
 
 	private String invalidatePath(@NonNull String path) {
@@ -129,6 +170,75 @@ public abstract class BaseFileAppenderConfig<E extends BaseFileAppenderConfig> e
 		return (E) this;
 	}
 
+	/**
+	 * Returns true if the log file is kept open and messages are buffered
+	 */
+	public boolean isBufferedWrite() {
+		return bufferedWrite;
+	}
+
+	/**
+	 * Keep the log file open and write messages through the buffer instead of opening the file for every message.<p>
+	 * Buffer is written to the file when it reaches {@link #setFlushBufferSize(int) flush buffer size}, {@link #setFlushInterval(long) flush interval} elapses
+	 * or message with {@link #setFlushLevel(Level) flush level} is appended. <p>Default: <code>false</code>
+	 */
+	public E setBufferedWrite(boolean bufferedWrite) {
+		this.bufferedWrite = bufferedWrite;
+		return (E) this;
+	}
+
+	/**
+	 * Number of bytes buffered before they are written to the file
+	 */
+	public int getFlushBufferSize() {
+		return flushBufferSize;
+	}
+
+	/**
+	 * Number of bytes buffered before they are written to the file. <p>Default: <code>{@value #DEFAULT_FLUSH_BUFFER_SIZE}</code>
+	 */
+	public E setFlushBufferSize(int flushBufferSize) {
+		if (flushBufferSize < 0) {
+			throw new IllegalArgumentException("Flush buffer size cannot be negative");
+		}
+		this.flushBufferSize = flushBufferSize;
+		return (E) this;
+	}
+
+	/**
+	 * Maximum time in milliseconds that message can wait in the buffer
+	 */
+	public long getFlushInterval() {
+		return flushInterval;
+	}
+
+	/**
+	 * Maximum time in milliseconds that message can wait in the buffer, 0 disables time based flushing. <p>Default: <code>{@value #DEFAULT_FLUSH_INTERVAL}</code>
+	 */
+	public E setFlushInterval(long flushInterval) {
+		if (flushInterval < 0) {
+			throw new IllegalArgumentException("Flush interval cannot be negative");
+		}
+		this.flushInterval = flushInterval;
+		return (E) this;
+	}
+
+	/**
+	 * Minimal level of the message that is written to the file immediately
+	 */
+	@NonNull
+	public Level getFlushLevel() {
+		return flushLevel;
+	}
+
+	/**
+	 * Minimal level of the message that is written to the file immediately with all buffered messages. <p>Default: {@link Level#ERROR ERROR}
+	 */
+	public E setFlushLevel(@NonNull Level flushLevel) {
+		this.flushLevel = flushLevel;
+		return (E) this;
+	}
+
 	@Override
 	protected void read(@NonNull Map<String, String> config) {
 		super.read(config);
@@ -142,5 +252,44 @@ public abstract class BaseFileAppenderConfig<E extends BaseFileAppenderConfig> e
 			//noinspection ResourceType
 			setDatePattern(config.get("datePattern"));
 		}
+
+		if (config.containsKey("bufferedWrite")) {
+			setBufferedWrite(Boolean.parseBoolean(config.get("bufferedWrite")));
+		}
+
+		if (config.containsKey("flushBufferSize")) {
+			setFlushBufferSize(Integer.parseInt(config.get("flushBufferSize")));
+		}
+
+		if (config.containsKey("flushInterval")) {
+			setFlushInterval(Long.parseLong(config.get("flushInterval")));
+		}
+
+		if (config.containsKey("flushLevel")) {
+			//noinspection ResourceType
+			setFlushLevel(Level.valueOf(config.get("flushLevel")));
+		}
+	}
+
+	/**
+	 * Parse size with optional unit, e.g. <code>512</code>, <code>100KB</code> or <code>5MB</code>
+	 */
+	static long parseFileSize(@NonNull String size) {
+		if (size.matches("^\\d$")) {
+			return Long.parseLong(size);
+		} else if (size.matches("^\\d+(b|B)$")) {
+			size = size.substring(0, size.length() - 1);
+			return Long.parseLong(size) * B;
+		} else if (size.matches("^\\d+((k|K)(b|B))$")) {
+			size = size.substring(0, size.length() - 2);
+			return Long.parseLong(size) * KB;
+		} else if (size.matches("^\\d+((m|M)(b|B))$")) {
+			size = size.substring(0, size.length() - 2);
+			return Long.parseLong(size) * MB;
+		} else if (size.matches("^\\d+((g|G)(b|B))$")) {
+			size = size.substring(0, size.length() - 2);
+			return Long.parseLong(size) * GB;
+		}
+		return Long.parseLong(size);
 	}
 }
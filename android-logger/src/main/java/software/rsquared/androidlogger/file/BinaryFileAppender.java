@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.rsquared.androidlogger.file;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.Map;
+
+import software.rsquared.androidlogger.Level;
+import software.rsquared.androidlogger.Logger;
+import software.rsquared.androidlogger.Tag;
+
+/**
+ * {@link Logger Logger} that save log messages in the compact binary file<p>
+ * Time, level, tag pattern and call site are stored separately from the message, tag patterns and call sites are written once per file
+ * in the string table and referenced by index. File can be converted into the text layout of the {@link FileAppender} with {@link BinaryLogDecoder}.<p>
+ * File can be rolled over the same way as file of the {@link RollingFileAppender}.
+ *
+ * @author Rafal Zajfert
+ * @see BinaryLogFormat
+ */
+@SuppressWarnings("unused")
+public class BinaryFileAppender extends RollingFileAppender {
+
+    /**
+     * Writer of the file that the string table was written to
+     */
+    private LogFileWriter tableWriter;
+
+    /**
+     * File which torn record was already removed
+     */
+    private File repairedFile;
+
+    private final Map<String, Integer> tagPatterns = new HashMap<>();
+
+    private final Map<StackTraceElement, Integer> callSites = new HashMap<>();
+
+    private int nextIndex;
+
+    private long lastTime;
+
+    private final BinaryLogFormat.RecordBuilder output = new BinaryLogFormat.RecordBuilder();
+
+    private final BinaryLogFormat.RecordBuilder record = new BinaryLogFormat.RecordBuilder();
+
+    public BinaryFileAppender() {
+    }
+
+    @Override
+    protected void append(Level level, Tag tag, Object message, Throwable throwable) {
+        String tagPattern = getTagPattern(tag);
+        StackTraceElement caller = isCallerRequired(tag) ? getCaller() : null;
+        writeEvent(level, tagPattern, caller, getTimeMillis(), getText(level, message, throwable));
+    }
+
+    private synchronized void writeEvent(Level level, @Nullable String tagPattern, @Nullable StackTraceElement caller, long time, String message) {
+        RollingFileAppenderConfig config = getConfig();
+        File file = prepareFile(getLogFile());
+        try {
+            LogFileWriter writer = obtainWriter(file, config);
+            output.reset();
+            if (writer != tableWriter) {
+                startTable(writer);
+            }
+            int tagIndex = getTagIndex(tagPattern);
+            int callSiteIndex = getCallSiteIndex(caller);
+
+            record.reset();
+            record.writeByte(BinaryLogFormat.RECORD_EVENT);
+            record.writeSignedVarint(time - lastTime);
+            record.writeByte(level.ordinal());
+            record.writeVarint(tagIndex);
+            record.writeVarint(callSiteIndex);
+            record.writeBytes(message.getBytes(BinaryLogFormat.UTF_8));
+            output.writeRecord(record);
+
+            writer.write(output.bytes(), 0, output.length());
+            lastTime = time;
+            afterWrite(writer, level, config);
+        } catch (IOException e) {
+            closeWriter();
+            tableWriter = null;
+            repairedFile = null;
+            logger.e("Cannot write log to file", e);
+        }
+    }
+
+    @Override
+    protected File prepareFile(File file) {
+        file = super.prepareFile(file);
+        if (!file.equals(repairedFile)) {
+            repairedFile = file;
+            closeWriter();
+            repairFile(file);
+        }
+        return file;
+    }
+
+    /**
+     * Truncate the file to the last complete record. Record torn when the process was killed would swallow the start of the next session
+     * and the decoder could not find the boundaries of the following records.
+     */
+    private void repairFile(File file) {
+        if (!file.isFile()) {
+            return;
+        }
+        long length;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            length = BinaryLogFormat.getCompleteLength(in);
+        } catch (IOException e) {
+            logger.e("Cannot read log file", e);
+            return;
+        }
+        if (length < file.length()) {
+            try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+                out.setLength(length);
+            } catch (IOException e) {
+                logger.e("Cannot truncate log file", e);
+            }
+        }
+    }
+
+    /**
+     * Clear log file, the next message starts new string table
+     */
+    @Override
+    public synchronized void clearLogFile() {
+        super.clearLogFile();
+        tableWriter = null;
+    }
+
+    /**
+     * Start new string table, called for every opened file
+     */
+    private void startTable(LogFileWriter writer) {
+        tableWriter = writer;
+        tagPatterns.clear();
+        callSites.clear();
+        nextIndex = 1;
+        lastTime = 0;
+
+        record.reset();
+        record.writeByte(BinaryLogFormat.RECORD_START);
+        record.writeBytes(BinaryLogFormat.MAGIC);
+        record.writeByte(BinaryLogFormat.VERSION);
+        output.writeRecord(record);
+    }
+
+    private int getTagIndex(@Nullable String tagPattern) {
+        if (tagPattern == null) {
+            return 0;
+        }
+        Integer index = tagPatterns.get(tagPattern);
+        if (index == null) {
+            index = addString(tagPattern);
+            tagPatterns.put(tagPattern, index);
+        }
+        return index;
+    }
+
+    private int getCallSiteIndex(@Nullable StackTraceElement caller) {
+        if (caller == null) {
+            return 0;
+        }
+        Integer index = callSites.get(caller);
+        if (index == null) {
+            String fileName = caller.getFileName();
+            index = addString(caller.getClassName() + BinaryLogFormat.CALL_SITE_SEPARATOR
+                    + caller.getMethodName() + BinaryLogFormat.CALL_SITE_SEPARATOR
+                    + (fileName == null ? "" : fileName) + BinaryLogFormat.CALL_SITE_SEPARATOR
+                    + caller.getLineNumber());
+            callSites.put(caller, index);
+        }
+        return index;
+    }
+
+    private int addString(@NonNull String value) {
+        int index = nextIndex++;
+        record.reset();
+        record.writeByte(BinaryLogFormat.RECORD_STRING);
+        record.writeVarint(index);
+        record.writeBytes(value.getBytes(BinaryLogFormat.UTF_8));
+        output.writeRecord(record);
+        return index;
+    }
+
+    /**
+     * Render tag of the decoded message
+     */
+    @Nullable
+    static String renderTag(@NonNull Tag tag, @NonNull Level level, long time, @Nullable StackTraceElement caller) {
+        return formatTag(tag, level, time, caller);
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.rsquared.androidlogger.file;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import software.rsquared.androidlogger.Level;
+import software.rsquared.androidlogger.Logger;
+import software.rsquared.androidlogger.Tag;
+
+/**
+ * Reader of the files written by the {@link BinaryFileAppender}.<p>
+ * Records are read with {@link #next()}, and rendered into the text layout of the {@link FileAppender} with {@link #render()} or {@link #decode(Writer)}.
+ * Incomplete record at the end of the file (e.g. after the process was killed) is ignored.
+ *
+ * @author Rafal Zajfert
+ */
+@SuppressWarnings("unused")
+public class BinaryLogDecoder implements Closeable {
+
+    private static final Level[] LEVELS = Level.values();
+
+    @NonNull
+    private final InputStream in;
+
+    /**
+     * String table
+     */
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * Entries of the string table converted to {@link Tag} or {@link StackTraceElement}, so tag templates are compiled once
+     */
+    private final List<Object> values = new ArrayList<>();
+
+    private boolean started;
+
+    private long time;
+
+    private Level level;
+
+    @Nullable
+    private String tagPattern;
+
+    @Nullable
+    private Tag tag;
+
+    @Nullable
+    private StackTraceElement caller;
+
+    private String message;
+
+    public BinaryLogDecoder(@NonNull InputStream in) {
+        this.in = in instanceof BufferedInputStream ? in : new BufferedInputStream(in);
+    }
+
+    /**
+     * Convert binary log file into the text file
+     */
+    public static void decode(@NonNull File binaryFile, @NonNull File textFile) throws IOException {
+        try (BinaryLogDecoder decoder = new BinaryLogDecoder(new FileInputStream(binaryFile));
+             Writer out = new OutputStreamWriter(new FileOutputStream(textFile), BinaryLogFormat.UTF_8)) {
+            decoder.decode(out);
+        }
+    }
+
+    /**
+     * Write all remaining records rendered into text lines
+     */
+    public void decode(@NonNull Writer out) throws IOException {
+        while (next()) {
+            out.write(render());
+            out.write(Logger.NEW_LINE);
+        }
+    }
+
+    /**
+     * Read the next message
+     *
+     * @return false if there are no more messages
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            byte[] body = readRecord();
+            if (body == null) {
+                return false;
+            }
+            int type = body[0];
+            if (type == BinaryLogFormat.RECORD_START) {
+                readStart(body);
+            } else if (!started) {
+                throw new IOException("Not a binary log file");
+            } else if (type == BinaryLogFormat.RECORD_STRING) {
+                readString(body);
+            } else if (type == BinaryLogFormat.RECORD_EVENT) {
+                readEvent(body);
+                return true;
+            }
+            // unknown records are skipped
+        }
+    }
+
+    /**
+     * @return body of the record or null if the stream ended
+     */
+    @Nullable
+    private byte[] readRecord() throws IOException {
+        long length;
+        byte[] body;
+        try {
+            length = BinaryLogFormat.readVarint(in);
+            if (length <= 0) {
+                return null;
+            }
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Malformed record");
+            }
+            body = new byte[(int) length];
+            int offset = 0;
+            while (offset < body.length) {
+                int count = in.read(body, offset, body.length - offset);
+                if (count < 0) {
+                    return null;
+                }
+                offset += count;
+            }
+        } catch (EOFException e) {
+            return null;
+        }
+        return body;
+    }
+
+    private void readStart(@NonNull byte[] body) throws IOException {
+        if (body.length < BinaryLogFormat.MAGIC.length + 2) {
+            throw new IOException("Not a binary log file");
+        }
+        for (int i = 0; i < BinaryLogFormat.MAGIC.length; i++) {
+            if (body[i + 1] != BinaryLogFormat.MAGIC[i]) {
+                throw new IOException("Not a binary log file");
+            }
+        }
+        int version = body[BinaryLogFormat.MAGIC.length + 1];
+        if (version != BinaryLogFormat.VERSION) {
+            throw new IOException("Unsupported binary log version: " + version);
+        }
+        started = true;
+        strings.clear();
+        values.clear();
+        time = 0;
+    }
+
+    private void readString(@NonNull byte[] body) throws IOException {
+        int[] position = {1};
+        int index = (int) BinaryLogFormat.readVarint(body, position);
+        while (strings.size() <= index) {
+            strings.add(null);
+            values.add(null);
+        }
+        strings.set(index, new String(body, position[0], body.length - position[0], BinaryLogFormat.UTF_8));
+        values.set(index, null);
+    }
+
+    private void readEvent(@NonNull byte[] body) throws IOException {
+        int[] position = {1};
+        time += BinaryLogFormat.decodeSigned(BinaryLogFormat.readVarint(body, position));
+        if (position[0] >= body.length) {
+            throw new EOFException("Incomplete event");
+        }
+        int ordinal = body[position[0]++];
+        level = ordinal >= 0 && ordinal < LEVELS.length ? LEVELS[ordinal] : Level.VERBOSE;
+        int tagIndex = (int) BinaryLogFormat.readVarint(body, position);
+        tagPattern = getString(tagIndex);
+        tag = getTag(tagIndex);
+        caller = getCallSite((int) BinaryLogFormat.readVarint(body, position));
+        message = new String(body, position[0], body.length - position[0], BinaryLogFormat.UTF_8);
+    }
+
+    @Nullable
+    private Tag getTag(int index) {
+        String pattern = getString(index);
+        if (pattern == null) {
+            return null;
+        }
+        if (!(values.get(index) instanceof Tag)) {
+            values.set(index, new Tag(pattern));
+        }
+        return (Tag) values.get(index);
+    }
+
+    @Nullable
+    private StackTraceElement getCallSite(int index) {
+        String callSite = getString(index);
+        if (callSite == null) {
+            return null;
+        }
+        if (!(values.get(index) instanceof StackTraceElement)) {
+            String[] fields = callSite.split(String.valueOf(BinaryLogFormat.CALL_SITE_SEPARATOR), -1);
+            if (fields.length != 4) {
+                return null;
+            }
+            int line;
+            try {
+                line = Integer.parseInt(fields[3]);
+            } catch (NumberFormatException e) {
+                line = -1;
+            }
+            values.set(index, new StackTraceElement(fields[0], fields[1], fields[2].isEmpty() ? null : fields[2], line));
+        }
+        return (StackTraceElement) values.get(index);
+    }
+
+    @Nullable
+    private String getString(int index) {
+        return index > 0 && index < strings.size() ? strings.get(index) : null;
+    }
+
+    /**
+     * Time in milliseconds when the current message was logged
+     */
+    public long getTime() {
+        return time;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Pattern of the tag of the current message
+     */
+    @Nullable
+    public String getTagPattern() {
+        return tagPattern;
+    }
+
+    /**
+     * Location of the code that logged the current message, null if it wasn't needed by the tag
+     */
+    @Nullable
+    public StackTraceElement getCaller() {
+        return caller;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Render current message in the text layout of the {@link FileAppender}
+     */
+    @NonNull
+    public String render() {
+        String formattedTag = tag == null ? null : BinaryFileAppender.renderTag(tag, level, time, caller);
+        return formattedTag == null ? message : formattedTag + Logger.SPACE + message;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
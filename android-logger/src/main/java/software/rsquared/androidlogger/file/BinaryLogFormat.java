@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.rsquared.androidlogger.file;
+
+import android.support.annotation.NonNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Format of the files written by the {@link BinaryFileAppender}.<p>
+ * File is a sequence of records, each record starts with the varint length of its body and the body starts with the record type:
+ * <ul>
+ * <li>{@link #RECORD_START} - magic bytes and format version, starts every file and resets the string table and time base</li>
+ * <li>{@link #RECORD_STRING} - varint index and UTF-8 text of the string table entry</li>
+ * <li>{@link #RECORD_EVENT} - zigzag varint time delta from the previous event, level ordinal, varint tag pattern index,
+ * varint call site index (index 0 means no value, entries are numbered from 1) and UTF-8 message</li>
+ * </ul>
+ *
+ * @author Rafal Zajfert
+ */
+final class BinaryLogFormat {
+
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    static final int RECORD_START = 0;
+    static final int RECORD_STRING = 1;
+    static final int RECORD_EVENT = 2;
+
+    static final byte[] MAGIC = {'A', 'L', 'B'};
+    static final int VERSION = 1;
+
+    /**
+     * Separator of the call site fields in the string table entry
+     */
+    static final char CALL_SITE_SEPARATOR = '\n';
+
+    private BinaryLogFormat() {
+    }
+
+    /**
+     * Growable byte array used to build records
+     */
+    static final class RecordBuilder {
+        private byte[] bytes = new byte[256];
+        private int length;
+
+        void reset() {
+            length = 0;
+        }
+
+        int length() {
+            return length;
+        }
+
+        byte[] bytes() {
+            return bytes;
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            bytes[length++] = (byte) value;
+        }
+
+        void writeBytes(@NonNull byte[] value) {
+            ensureCapacity(value.length);
+            System.arraycopy(value, 0, bytes, length, value.length);
+            length += value.length;
+        }
+
+        void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void writeSignedVarint(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        /**
+         * Append other builder prefixed with its length
+         */
+        void writeRecord(@NonNull RecordBuilder record) {
+            writeVarint(record.length);
+            ensureCapacity(record.length);
+            System.arraycopy(record.bytes, 0, bytes, length, record.length);
+            length += record.length;
+        }
+
+        private void ensureCapacity(int count) {
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + count));
+            }
+        }
+    }
+
+    /**
+     * Read varint from the stream
+     *
+     * @return value or -1 if the stream ended before the first byte
+     */
+    static long readVarint(@NonNull InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift == 0) {
+                    return -1;
+                }
+                throw new EOFException("Incomplete varint");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Count bytes of the complete records at the beginning of the stream, anything after them is the record torn by the killed process
+     */
+    static long getCompleteLength(@NonNull InputStream in) throws IOException {
+        byte[] buffer = new byte[4096];
+        long complete = 0;
+        while (true) {
+            long position = complete;
+            long length = 0;
+            int b;
+            int shift = 0;
+            do {
+                b = in.read();
+                if (b < 0 || shift >= 64) {
+                    return complete;
+                }
+                length |= (long) (b & 0x7F) << shift;
+                shift += 7;
+                position++;
+            } while ((b & 0x80) != 0);
+            if (length <= 0) {
+                return complete;
+            }
+            // body is read rather than skipped, skip() of the file stream doesn't stop at the end of the file
+            long remaining = length;
+            while (remaining > 0) {
+                int count = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (count < 0) {
+                    return complete;
+                }
+                remaining -= count;
+            }
+            complete = position + length;
+        }
+    }
+
+    /**
+     * Read varint from the array
+     *
+     * @param position position in the array, updated to the position after varint
+     */
+    static long readVarint(@NonNull byte[] bytes, @NonNull int[] position) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new EOFException("Incomplete varint");
+            }
+            int b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static long decodeSigned(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.rsquared.androidlogger.file;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Single low priority daemon thread shared by all file appenders for the work that should not be done on the logging thread
+ *
+ * @author Rafal Zajfert
+ */
+final class FileAppenderExecutor {
+
+    private static final String THREAD_NAME = "AndroidLogger-file";
+
+    private static ScheduledExecutorService executor;
+
+    private FileAppenderExecutor() {
+    }
+
+    @NonNull
+    static synchronized ScheduledExecutorService get() {
+        if (executor == null) {
+            ScheduledThreadPoolExecutor threadPool = new ScheduledThreadPoolExecutor(1, new BackgroundThreadFactory());
+            threadPool.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            executor = threadPool;
+        }
+        return executor;
+    }
+
+    private static class BackgroundThreadFactory implements ThreadFactory {
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(() -> {
+                android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
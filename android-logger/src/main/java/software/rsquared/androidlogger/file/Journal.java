@@ -0,0 +1,255 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.rsquared.androidlogger.file;
+
+import android.support.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Circular journal of records stored in the memory-mapped file.<p>
+ * Writes go directly to the mapped pages, which are written to the file by the system even if the process is killed.
+ * Record starts with the {@link #RECORD_MAGIC magic}, length of the payload, sequence number and CRC32 of the sequence and payload.
+ * When the record doesn't fit before the end of the file it is written at the beginning, overwriting the oldest records.<p>
+ * The recovery {@link #scan(ByteBuffer) scanner} looks for the records at every offset, so it finds valid records even after a torn write,
+ * and continues writing after the last complete record.<p>
+ * Journal keeps its file channel open until it is {@link #close() closed}.
+ *
+ * @author Rafal Zajfert
+ */
+final class Journal implements Closeable {
+
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int RECORD_MAGIC = 0x4C4A524E;
+
+    /**
+     * magic, length, sequence, crc
+     */
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4;
+
+    @NonNull
+    private final File file;
+
+    @NonNull
+    private final FileChannel channel;
+
+    @NonNull
+    private final MappedByteBuffer buffer;
+
+    private final CRC32 crc = new CRC32();
+
+    private int position;
+
+    private long sequence;
+
+    private Journal(@NonNull File file, @NonNull FileChannel channel, @NonNull MappedByteBuffer buffer, int position, long sequence) {
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.position = position;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Map the journal file and find position after the last complete record
+     */
+    @NonNull
+    static Journal open(@NonNull File file, int size) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            if (randomAccessFile.length() != size) {
+                randomAccessFile.setLength(0);
+                randomAccessFile.setLength(size);
+            }
+            FileChannel channel = randomAccessFile.getChannel();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            List<Record> records = scan(buffer);
+            if (records.isEmpty()) {
+                return new Journal(file, channel, buffer, 0, 1);
+            }
+            Record last = records.get(records.size() - 1);
+            return new Journal(file, channel, buffer, last.end, last.sequence + 1);
+        } catch (IOException | RuntimeException e) {
+            randomAccessFile.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Read all complete records from the journal file, from the oldest
+     */
+    @NonNull
+    static List<String> read(@NonNull File file) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            ByteBuffer buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, randomAccessFile.length());
+            return toStrings(buffer, scan(buffer));
+        }
+    }
+
+    @NonNull
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * Read all complete records, from the oldest
+     */
+    @NonNull
+    List<String> read() {
+        return toStrings(buffer, scan(buffer));
+    }
+
+    /**
+     * Append record, payload longer than the journal is truncated
+     */
+    void write(@NonNull byte[] payload) {
+        int capacity = buffer.capacity();
+        int length = Math.min(payload.length, capacity - HEADER_SIZE);
+        if (position + HEADER_SIZE + length > capacity) {
+            position = 0;
+        }
+        long recordSequence = sequence++;
+        crc.reset();
+        updateCrc(crc, recordSequence);
+        crc.update(payload, 0, length);
+
+        // magic is written last, so the scanner doesn't find the record before it is complete
+        int start = position;
+        buffer.putInt(start, 0);
+        buffer.putInt(start + 4, length);
+        buffer.putLong(start + 8, recordSequence);
+        buffer.putInt(start + 16, (int) crc.getValue());
+        buffer.position(start + HEADER_SIZE);
+        buffer.put(payload, 0, length);
+        buffer.putInt(start, RECORD_MAGIC);
+        position = start + HEADER_SIZE + length;
+    }
+
+    /**
+     * Write modified pages to the storage, not needed to survive the process kill
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Close the file channel. Pages are unmapped when the journal is garbage collected, so it must not be used after this call.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Remove all records
+     */
+    void clear() {
+        for (int i = 0; i + 4 <= buffer.capacity(); i += 4) {
+            buffer.putInt(i, 0);
+        }
+        position = 0;
+    }
+
+    /**
+     * Find all complete records, ordered by the sequence
+     */
+    @NonNull
+    static List<Record> scan(@NonNull ByteBuffer buffer) {
+        List<Record> records = new ArrayList<>();
+        CRC32 crc = new CRC32();
+        int capacity = buffer.capacity();
+        int offset = 0;
+        while (offset + HEADER_SIZE <= capacity) {
+            Record record = readRecord(buffer, offset, crc);
+            if (record == null) {
+                offset++;
+            } else {
+                records.add(record);
+                offset = record.end;
+            }
+        }
+        Collections.sort(records);
+        return records;
+    }
+
+    private static Record readRecord(@NonNull ByteBuffer buffer, int offset, @NonNull CRC32 crc) {
+        if (buffer.getInt(offset) != RECORD_MAGIC) {
+            return null;
+        }
+        int length = buffer.getInt(offset + 4);
+        if (length < 0 || length > buffer.capacity() - offset - HEADER_SIZE) {
+            return null;
+        }
+        long sequence = buffer.getLong(offset + 8);
+        crc.reset();
+        updateCrc(crc, sequence);
+        for (int i = offset + HEADER_SIZE; i < offset + HEADER_SIZE + length; i++) {
+            crc.update(buffer.get(i));
+        }
+        if ((int) crc.getValue() != buffer.getInt(offset + 16)) {
+            return null;
+        }
+        return new Record(offset, offset + HEADER_SIZE + length, sequence);
+    }
+
+    private static void updateCrc(@NonNull CRC32 crc, long value) {
+        for (int i = 56; i >= 0; i -= 8) {
+            crc.update((int) (value >>> i));
+        }
+    }
+
+    @NonNull
+    private static List<String> toStrings(@NonNull ByteBuffer buffer, @NonNull List<Record> records) {
+        List<String> strings = new ArrayList<>(records.size());
+        for (Record record : records) {
+            byte[] payload = new byte[record.end - record.start - HEADER_SIZE];
+            for (int i = 0; i < payload.length; i++) {
+                payload[i] = buffer.get(record.start + HEADER_SIZE + i);
+            }
+            strings.add(new String(payload, UTF_8));
+        }
+        return strings;
+    }
+
+    static final class Record implements Comparable<Record> {
+        final int start;
+        final int end;
+        final long sequence;
+
+        Record(int start, int end, long sequence) {
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(@NonNull Record other) {
+            return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+        }
+    }
+}
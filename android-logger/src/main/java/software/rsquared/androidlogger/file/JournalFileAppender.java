@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.rsquared.androidlogger.file;
+
+import android.support.annotation.NonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import software.rsquared.androidlogger.Level;
+import software.rsquared.androidlogger.Logger;
+
+/**
+ * {@link Logger Logger} that save log messages in the memory-mapped journal file<p>
+ * Messages are written directly to the mapped memory, so they are saved even if the process is killed right after logging
+ * (e.g. by {@link software.rsquared.androidlogger.LoggerConfig#catchUncaughtExceptions()}) and writing is much cheaper than opening the file.
+ * Journal has fixed {@link JournalFileAppenderConfig#setJournalSize(int) size} and the oldest messages are overwritten when it is full.<p>
+ * When the journal is opened again the last complete message is found and messages of the previous process can be read with {@link #readJournal()}.
+ *
+ * @author Rafal Zajfert
+ */
+@SuppressWarnings("unused")
+public class JournalFileAppender extends BaseFileAppender<JournalFileAppenderConfig> {
+
+    private JournalFileAppenderConfig config;
+
+    private Journal journal;
+
+    public JournalFileAppender() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JournalFileAppenderConfig getConfig() {
+        if (config == null) {
+            config = new JournalFileAppenderConfig();
+        }
+        return config;
+    }
+
+    @Override
+    protected synchronized void append(Level level, String tag, String message) {
+        try {
+            obtainJournal().write((tag + Logger.SPACE + message).getBytes(Journal.UTF_8));
+        } catch (IOException e) {
+            closeJournal();
+            logger.e("Cannot write log to journal", e);
+        }
+    }
+
+    @NonNull
+    private Journal obtainJournal() throws IOException {
+        File file = getLogFile();
+        if (journal != null && !journal.getFile().equals(file)) {
+            // the old mapping is released with the last reference, before the new file is mapped
+            closeJournal();
+        }
+        if (journal == null) {
+            journal = Journal.open(createFileIfNeeded(file), getConfig().getJournalSize());
+        }
+        return journal;
+    }
+
+    private void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                logger.e("Cannot close journal", e);
+            }
+            journal = null;
+        }
+    }
+
+    /**
+     * Read all messages saved in the journal, from the oldest
+     */
+    @NonNull
+    public synchronized List<String> readJournal() {
+        try {
+            return obtainJournal().read();
+        } catch (IOException e) {
+            logger.e("Cannot read journal", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Read all messages saved in the journal file, e.g. journal of the previous process, from the oldest
+     */
+    @NonNull
+    public static List<String> readJournal(@NonNull File file) throws IOException {
+        return Journal.read(file);
+    }
+
+    /**
+     * Write modified pages of the journal to the storage, this is not needed to keep messages when the process is killed
+     */
+    @Override
+    protected synchronized void flush() {
+        if (journal != null) {
+            journal.force();
+        }
+    }
+
+    /**
+     * Close the journal file, it will be mapped again with the next message
+     */
+    @Override
+    protected synchronized void closeWriter() {
+        closeJournal();
+    }
+
+    /**
+     * Remove all messages from the journal
+     */
+    @Override
+    public synchronized void clearLogFile() {
+        try {
+            obtainJournal().clear();
+        } catch (IOException e) {
+            logger.e("Cannot clear journal", e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.rsquared.androidlogger.file;
+
+import android.support.annotation.NonNull;
+
+import java.util.Map;
+
+/**
+ * @author Rafal Zajfert
+ */
+@SuppressWarnings("unused")
+public class JournalFileAppenderConfig extends BaseFileAppenderConfig<JournalFileAppenderConfig> {
+    public static final int DEFAULT_JOURNAL_SIZE = 1024 * 1024;
+    public static final int MIN_JOURNAL_SIZE = 4 * 1024;
+
+    private int journalSize = DEFAULT_JOURNAL_SIZE;
+
+    JournalFileAppenderConfig() {
+    }
+
+    public int getJournalSize() {
+        return journalSize;
+    }
+
+    /**
+     * Size of the journal file in bytes, when it is full the oldest messages are overwritten.
+     * Journal with different size is cleared when it is opened. <p>Default: <code>{@value #DEFAULT_JOURNAL_SIZE}</code>
+     */
+    public JournalFileAppenderConfig setJournalSize(int journalSize) {
+        if (journalSize < MIN_JOURNAL_SIZE) {
+            throw new IllegalArgumentException("Journal size must be at least " + MIN_JOURNAL_SIZE + " bytes");
+        }
+        this.journalSize = journalSize;
+        return this;
+    }
+
+    @Override
+    protected void read(@NonNull Map<String, String> config) {
+        super.read(config);
+        if (config.containsKey("journalSize")) {
+            //noinspection ResourceType
+            setJournalSize((int) parseFileSize(config.get("journalSize")));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.rsquared.androidlogger.file;
+
+import android.support.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Writer that keeps the log file open between messages.<p>
+ * Messages are encoded to UTF-8 into the reusable direct buffer, which is written to the {@link FileChannel} when it is full or on {@link #flush()}.
+ * Writer is not thread safe, access must be synchronized by the appender.
+ *
+ * @author Rafal Zajfert
+ */
+final class LogFileWriter implements Closeable {
+
+    private static final int MIN_BUFFER_SIZE = 1024;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @NonNull
+    private final File file;
+
+    @NonNull
+    private final FileOutputStream stream;
+
+    @NonNull
+    private final FileChannel channel;
+
+    @NonNull
+    private final ByteBuffer buffer;
+
+    @NonNull
+    private final CharsetEncoder encoder;
+
+    /**
+     * Size of the file without bytes that are still in the buffer
+     */
+    private long writtenSize;
+
+    LogFileWriter(@NonNull File file, int bufferSize) throws IOException {
+        this.file = file;
+        this.stream = new FileOutputStream(file, true);
+        this.channel = stream.getChannel();
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, MIN_BUFFER_SIZE));
+        this.encoder = UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.writtenSize = channel.size();
+    }
+
+    @NonNull
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * Size of the file including messages that are not flushed yet
+     */
+    long size() {
+        return writtenSize + buffer.position();
+    }
+
+    /**
+     * Number of bytes waiting in the buffer
+     */
+    int getBufferedBytes() {
+        return buffer.position();
+    }
+
+    /**
+     * Encode text into the buffer, buffer is written to the file only if it is full
+     */
+    void write(@NonNull CharSequence text) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        encoder.reset();
+        CoderResult result;
+        while ((result = encoder.encode(chars, buffer, true)).isOverflow()) {
+            drain();
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            drain();
+        }
+    }
+
+    /**
+     * Put bytes into the buffer, buffer is written to the file only if it is full
+     */
+    void write(@NonNull byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.put(bytes, offset, count);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Write buffered bytes to the file
+     */
+    void flush() throws IOException {
+        drain();
+    }
+
+    /**
+     * Remove content of the file and all buffered bytes
+     */
+    void truncate() throws IOException {
+        buffer.clear();
+        channel.truncate(0);
+        writtenSize = 0;
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            writtenSize += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flush buffered bytes and close the file
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            stream.close();
+        }
+    }
+}
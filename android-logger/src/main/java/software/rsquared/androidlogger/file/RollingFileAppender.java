@@ -16,8 +16,28 @@
 
 package software.rsquared.androidlogger.file;
 
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.io.Closeable;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import software.rsquared.androidlogger.Logger;
 
@@ -31,8 +51,33 @@ import software.rsquared.androidlogger.Logger;
 @SuppressWarnings("unused")
 public class RollingFileAppender extends BaseFileAppender  {
 
+    private static final String BACKUP_SUFFIX = ".bac";
+
+    private static final String PENDING_SUFFIX = ".pending";
+
+    private static final String COMPRESSED_SUFFIX = ".gz";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Conversions of the date pattern, e.g. <code>%1$td</code>
+     */
+    private static final Pattern DATE_CONVERSION_PATTERN = Pattern.compile("%%|%(\\d+\\$)?[-#+ 0,(<]*\\d*[tT][a-zA-Z]");
+
+    /**
+     * Names of the backups and the temporary files, which are not log files of the previous dates
+     */
+    private static final Pattern ROLLED_FILE_PATTERN = Pattern.compile(".*(\\.bac\\d+|\\.pending-?\\d+)(\\.gz)?|.*\\.tmp");
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
     protected RollingFileAppenderConfig config;
 
+    /**
+     * Log file whose pending files left by the previous process were already rotated, guarded by the appender lock
+     */
+    private File recoveredFile;
+
     public RollingFileAppender() {
     }
 
@@ -48,41 +93,541 @@ public class RollingFileAppender extends BaseFileAppender  {
     }
 
 
+    /**
+     * Rolling appender always keeps the file open, so its size is tracked in memory
+     */
+    @Override
+    protected boolean isFileKeptOpen(BaseFileAppenderConfig config) {
+        return true;
+    }
+
     @Override
-    protected synchronized void writeToFile(File file, String string) {
-        super.writeToFile(file, string);
-        if (file.length() > config.getMaxFileSize() && config.getMaxFileSize() > 0 && config.getMaxFileBackupCount()>0) {
-            rollOver(file);
+    protected File prepareFile(File file) {
+        if (!file.equals(recoveredFile)) {
+            recoveredFile = file;
+            recoverPendingFiles(file);
+        }
+        RollingPolicy policy = config.getRollingPolicy();
+        if (policy != null) {
+            long time = System.currentTimeMillis();
+            if (policy.isTriggered(file, getFileSize(file), time)) {
+                file = rollOver(file);
+                policy.rolledOver(time);
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Start writing into the new file. If the path contains {@link RollingFileAppenderConfig#DATE date} and the date was changed then the file for the new date is used,
+     * otherwise current file is moved aside and backups are renamed on the background thread, so only a single rename is done while the appender is locked.
+     *
+     * @return file for the next messages
+     */
+    private File rollOver(File file) {
+        closeWriter();
+        if (config.refreshLogFile()) {
+            if (config.isCompressBackups()) {
+                FileAppenderExecutor.get().execute(() -> compress(file, getCompressedFile(file)));
+            }
+            return config.getLogFile();
+        }
+        if (config.getMaxFileBackupCount() <= 0) {
+            return file;
+        }
+        File pending = new File(file.getAbsolutePath() + PENDING_SUFFIX + System.nanoTime());
+        if (file.renameTo(pending)) {
+            FileAppenderExecutor.get().execute(new RotateBackupsTask(file, pending, config.getMaxFileBackupCount(), config.getMaxTotalBackupSize(), config.isCompressBackups()));
+        } else {
+            logger.e("Cannot roll over Log file " + file.getAbsolutePath());
+        }
+        return file;
+    }
+
+    /**
+     * Rotate files that were moved aside by the rollover but not rotated into the backups, e.g. because the process was killed
+     * before the background rotation. Files are rotated from the oldest, so the newest one becomes the first backup.
+     */
+    private void recoverPendingFiles(File file) {
+        if (config.getMaxFileBackupCount() <= 0) {
+            return;
+        }
+        for (File pending : findPendingFiles(file)) {
+            FileAppenderExecutor.get().execute(new RotateBackupsTask(file, pending, config.getMaxFileBackupCount(), config.getMaxTotalBackupSize(), config.isCompressBackups()));
+        }
+    }
+
+    /**
+     * Returns files moved aside by the rollover that are not rotated into the backups yet, from the oldest
+     */
+    @NonNull
+    private static List<File> findPendingFiles(File file) {
+        String prefix = file.getName() + PENDING_SUFFIX;
+        File[] files = file.getAbsoluteFile().getParentFile().listFiles((dir, name) -> name.startsWith(prefix) && isNumber(name.substring(prefix.length())));
+        List<File> pending = new ArrayList<>();
+        if (files != null) {
+            Collections.addAll(pending, files);
+            // suffixes are System.nanoTime() values, which can't be compared between processes
+            sortByLastModified(pending);
+        }
+        return pending;
+    }
+
+    private static boolean isNumber(String text) {
+        int start = text.startsWith("-") ? 1 : 0;
+        if (text.length() <= start) {
+            return false;
+        }
+        for (int i = start; i < text.length(); i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write content of the backups (from the oldest) and the current log file to the stream. Compressed backups are decompressed.
+     * If the path of the file contains {@link RollingFileAppenderConfig#DATE date} then files of the previous dates are written first.<p>
+     * Files are read on the background thread after pending rollovers are finished, so the calling thread waits for them.
+     */
+    public void exportLogs(@NonNull OutputStream out) throws IOException {
+        runAfterRollovers(() -> {
+            try (Snapshot snapshot = snapshotLogs()) {
+                for (File exported : snapshot.files) {
+                    copy(exported, out, true);
+                }
+                snapshot.copyCurrent(out);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Copy backups and the current log file into the directory.
+     * If the path of the file contains {@link RollingFileAppenderConfig#DATE date} then files of the previous dates are also copied.
+     *
+     * @param decompress true if compressed backups should be decompressed
+     * @return exported files, from the oldest
+     */
+    @NonNull
+    public List<File> exportLogs(@NonNull File directory, boolean decompress) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory " + directory.getAbsolutePath());
+        }
+        File current = getLogFile();
+        File target = new File(directory, current.getName());
+        if (target.getAbsoluteFile().equals(current.getAbsoluteFile())) {
+            throw new IOException("Logs cannot be exported to the directory of the Log file");
+        }
+        return runAfterRollovers(() -> {
+            List<File> files = new ArrayList<>();
+            Set<String> names = new HashSet<>();
+            names.add(target.getName());
+            try (Snapshot snapshot = snapshotLogs()) {
+                for (File exported : snapshot.files) {
+                    boolean compressed = isCompressed(exported);
+                    String name = compressed && decompress ? getDecompressedName(exported) : exported.getName();
+                    if (!names.add(name)) {
+                        // files of different dates can have the same name in different directories
+                        name = exported.getParentFile().getName() + "_" + name;
+                        names.add(name);
+                    }
+                    files.add(copy(exported, new File(directory, name), compressed && decompress));
+                }
+                if (snapshot.current != null) {
+                    try (OutputStream out = new FileOutputStream(target)) {
+                        snapshot.copyCurrent(out);
+                    }
+                    files.add(target);
+                }
+            }
+            return files;
+        });
+    }
+
+    /**
+     * Flush the current log file, open it and list other files while the appender is locked. Files are copied after the lock is released,
+     * so logging threads don't wait for the copy: only the flushed length of the current file is copied and the opened file is read
+     * even if it is moved aside by the rollover. Files rolled over later contain only newer messages.
+     * Must be called on the {@link FileAppenderExecutor} thread, so backups aren't rotated until the export is finished.
+     */
+    @NonNull
+    private synchronized Snapshot snapshotLogs() throws IOException {
+        File file = getLogFile();
+        flush();
+        List<File> files = findExportedFiles(file);
+        if (!file.exists()) {
+            return new Snapshot(files, null, 0);
+        }
+        return new Snapshot(files, new FileInputStream(file), getFileSize(file));
+    }
+
+    /**
+     * Returns files to export without the current log file, from the oldest: files of the previous dates, backups and files
+     * moved aside by the rollover but not rotated yet
+     */
+    @NonNull
+    private List<File> findExportedFiles(File file) {
+        List<File> files = new ArrayList<>();
+        for (File dated : findDatedFiles(file)) {
+            addRolledFiles(files, dated);
+            files.add(dated);
+        }
+        addRolledFiles(files, file);
+        return files;
+    }
+
+    private void addRolledFiles(List<File> files, File file) {
+        for (int i = getConfig().getMaxFileBackupCount(); i > 0; i--) {
+            File backup = findBackupFile(file, i);
+            if (backup != null) {
+                files.add(backup);
+            }
+        }
+        files.addAll(findPendingFiles(file));
+    }
+
+    /**
+     * Returns log files of the previous dates (plain or compressed) if the path of the file contains {@link RollingFileAppenderConfig#DATE date}, from the oldest
+     */
+    @NonNull
+    private List<File> findDatedFiles(File file) {
+        String path = getConfig().getLogFilePath();
+        List<File> files = new ArrayList<>();
+        if (path == null || !path.contains(RollingFileAppenderConfig.DATE)) {
+            return files;
+        }
+        File template = new File(path).getAbsoluteFile();
+        List<String> segments = new ArrayList<>();
+        for (File f = template; f.getParentFile() != null; f = f.getParentFile()) {
+            segments.add(0, f.getName());
+        }
+        File root = template;
+        while (root.getParentFile() != null) {
+            root = root.getParentFile();
+        }
+        collectDatedFiles(root, segments, 0, compileDate(getConfig().getDatePattern()), files);
+        files.remove(file.getAbsoluteFile());
+        files.remove(getCompressedFile(file.getAbsoluteFile()));
+        sortByLastModified(files);
+        return files;
+    }
+
+    private static void collectDatedFiles(File directory, List<String> segments, int index, String dateRegex, List<File> files) {
+        String segment = segments.get(index);
+        boolean last = index == segments.size() - 1;
+        if (!segment.contains(RollingFileAppenderConfig.DATE)) {
+            File child = new File(directory, segment);
+            if (last) {
+                if (child.isFile()) {
+                    files.add(child);
+                } else if (getCompressedFile(child).isFile()) {
+                    files.add(getCompressedFile(child));
+                }
+            } else if (child.isDirectory()) {
+                collectDatedFiles(child, segments, index + 1, dateRegex, files);
+            }
+            return;
+        }
+        Pattern pattern = compileDatedName(segment, dateRegex, last);
+        File[] children = directory.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            String name = child.getName();
+            if (!pattern.matcher(name).matches()) {
+                continue;
+            }
+            if (!last && child.isDirectory()) {
+                collectDatedFiles(child, segments, index + 1, dateRegex, files);
+            } else if (last && child.isFile() && !ROLLED_FILE_PATTERN.matcher(name).matches()) {
+                files.add(child);
+            }
         }
     }
 
-    private boolean rollOver(File file) {
-        int backupsCount = config.getMaxFileBackupCount();
-        File f = new File(file.getAbsolutePath() + ".bac" + backupsCount);
-        boolean success = true;
-        if (f.exists()) {
-            success = f.delete();
+    /**
+     * Regular expression that matches dates formatted with the {@link RollingFileAppenderConfig#getDatePattern() date pattern},
+     * each date conversion matches any letters and digits
+     */
+    private static String compileDate(String datePattern) {
+        StringBuilder regex = new StringBuilder();
+        Matcher matcher = DATE_CONVERSION_PATTERN.matcher(datePattern);
+        int start = 0;
+        while (matcher.find()) {
+            if (matcher.start() > start) {
+                regex.append(Pattern.quote(datePattern.substring(start, matcher.start())));
+            }
+            regex.append("%%".equals(matcher.group()) ? "%" : "[\\p{L}\\p{N}]+");
+            start = matcher.end();
+        }
+        if (start < datePattern.length()) {
+            regex.append(Pattern.quote(datePattern.substring(start)));
         }
+        return regex.toString();
+    }
 
-        for (int i = backupsCount - 1; i > 0 && success; i--) {
-            f = new File(file.getAbsolutePath() + ".bac" + i);
-            if (f.exists()) {
-                success = f.renameTo(new File(file.getAbsolutePath() + ".bac" + (i + 1)));
+    /**
+     * Pattern of the name where the {@link RollingFileAppenderConfig#DATE date} placeholder matches any date, names of the files can have compressed suffix
+     */
+    private static Pattern compileDatedName(String segment, String dateRegex, boolean file) {
+        StringBuilder regex = new StringBuilder();
+        int start = 0;
+        int index;
+        while ((index = segment.indexOf(RollingFileAppenderConfig.DATE, start)) >= 0) {
+            regex.append(Pattern.quote(segment.substring(start, index))).append(dateRegex);
+            start = index + RollingFileAppenderConfig.DATE.length();
+        }
+        regex.append(Pattern.quote(segment.substring(start)));
+        if (file) {
+            regex.append("(").append(Pattern.quote(COMPRESSED_SUFFIX)).append(")?");
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static void sortByLastModified(List<File> files) {
+        Collections.sort(files, (first, second) -> {
+            long firstModified = first.lastModified();
+            long secondModified = second.lastModified();
+            if (firstModified != secondModified) {
+                return firstModified < secondModified ? -1 : 1;
             }
+            return first.getName().compareTo(second.getName());
+        });
+    }
+
+    private static <T> T runAfterRollovers(Callable<T> task) throws IOException {
+        try {
+            return FileAppenderExecutor.get().submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Cannot export logs", e.getCause());
         }
+    }
 
-        if (success) {
-            success = file.renameTo(new File(file.getAbsolutePath() + ".bac" + 1));
+    private static File copy(File source, File target, boolean decompress) throws IOException {
+        try (OutputStream out = new FileOutputStream(target)) {
+            copy(source, out, decompress);
         }
+        return target;
+    }
 
-        if (success){
+    private static void copy(File source, OutputStream out, boolean decompress) throws IOException {
+        try (InputStream in = openInput(source, decompress)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int count;
+            while ((count = in.read(buffer)) > 0) {
+                out.write(buffer, 0, count);
+            }
+        }
+    }
+
+    private static InputStream openInput(File source, boolean decompress) throws IOException {
+        InputStream in = new FileInputStream(source);
+        if (decompress && isCompressed(source)) {
             try {
-                success = file.createNewFile();
+                return new GZIPInputStream(in, BUFFER_SIZE);
             } catch (IOException e) {
-                e.printStackTrace();
-                success = false;
+                in.close();
+                throw e;
+            }
+        }
+        return in;
+    }
+
+    /**
+     * Compress file with gzip and remove the source
+     *
+     * @return true if the file was compressed
+     */
+    private static boolean compress(File source, File target) {
+        File temp = new File(target.getAbsolutePath() + TEMP_SUFFIX);
+        try (InputStream in = new FileInputStream(source);
+             OutputStream out = new GZIPOutputStream(new FileOutputStream(temp), BUFFER_SIZE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int count;
+            while ((count = in.read(buffer)) > 0) {
+                out.write(buffer, 0, count);
+            }
+        } catch (IOException e) {
+            logger.e("Cannot compress Log file " + source.getAbsolutePath(), e);
+            //noinspection ResultOfMethodCallIgnored
+            temp.delete();
+            return false;
+        }
+        if (!temp.renameTo(target)) {
+            logger.e("Cannot compress Log file " + source.getAbsolutePath());
+            //noinspection ResultOfMethodCallIgnored
+            temp.delete();
+            return false;
+        }
+        //noinspection ResultOfMethodCallIgnored
+        source.delete();
+        return true;
+    }
+
+    private static boolean isCompressed(File file) {
+        return file.getName().endsWith(COMPRESSED_SUFFIX);
+    }
+
+    private static File getCompressedFile(File file) {
+        return new File(file.getAbsolutePath() + COMPRESSED_SUFFIX);
+    }
+
+    private static String getDecompressedName(File file) {
+        String name = file.getName();
+        return name.substring(0, name.length() - COMPRESSED_SUFFIX.length());
+    }
+
+    private static File getBackupFile(File file, int index) {
+        return new File(file.getAbsolutePath() + BACKUP_SUFFIX + index);
+    }
+
+    /**
+     * Returns compressed or plain backup with given index or null if it doesn't exist
+     */
+    @Nullable
+    private static File findBackupFile(File file, int index) {
+        File backup = getBackupFile(file, index);
+        File compressed = getCompressedFile(backup);
+        if (compressed.exists()) {
+            return compressed;
+        }
+        return backup.exists() ? backup : null;
+    }
+
+    /**
+     * Shift existing backups, store the rolled file as the first one and delete backups above the limits
+     */
+    /**
+     * Files listed and the current log file opened by the {@link #snapshotLogs()}
+     */
+    private static final class Snapshot implements Closeable {
+
+        /**
+         * Files to export before the current log file, from the oldest
+         */
+        @NonNull
+        final List<File> files;
+
+        /**
+         * Current log file, null if it doesn't exist
+         */
+        @Nullable
+        final InputStream current;
+
+        /**
+         * Length of the current log file when it was opened
+         */
+        private final long length;
+
+        Snapshot(@NonNull List<File> files, @Nullable InputStream current, long length) {
+            this.files = files;
+            this.current = current;
+            this.length = length;
+        }
+
+        /**
+         * Copy the current log file without messages written after the snapshot
+         */
+        void copyCurrent(@NonNull OutputStream out) throws IOException {
+            if (current == null) {
+                return;
+            }
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long remaining = length;
+            int count;
+            while (remaining > 0 && (count = current.read(buffer, 0, (int) Math.min(buffer.length, remaining))) > 0) {
+                out.write(buffer, 0, count);
+                remaining -= count;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (current != null) {
+                current.close();
+            }
+        }
+    }
+
+    private static class RotateBackupsTask implements Runnable {
+        private final File file;
+        private final File pending;
+        private final int backupsCount;
+        private final long maxTotalSize;
+        private final boolean compress;
+
+        RotateBackupsTask(File file, File pending, int backupsCount, long maxTotalSize, boolean compress) {
+            this.file = file;
+            this.pending = pending;
+            this.backupsCount = backupsCount;
+            this.maxTotalSize = maxTotalSize;
+            this.compress = compress;
+        }
+
+        @Override
+        public void run() {
+            boolean success = true;
+            File f = findBackupFile(file, backupsCount);
+            if (f != null) {
+                success = f.delete();
+            }
+
+            for (int i = backupsCount - 1; i > 0 && success; i--) {
+                f = findBackupFile(file, i);
+                if (f != null) {
+                    File target = getBackupFile(file, i + 1);
+                    success = f.renameTo(isCompressed(f) ? getCompressedFile(target) : target);
+                }
+            }
+
+            if (success) {
+                File backup = getBackupFile(file, 1);
+                success = pending.renameTo(backup);
+                if (success && compress) {
+                    compress(backup, getCompressedFile(backup));
+                }
+            }
+
+            if (!success) {
+                logger.e("Cannot rotate backups of the Log file " + file.getAbsolutePath());
+                //noinspection ResultOfMethodCallIgnored
+                pending.delete();
+            }
+
+            if (maxTotalSize >= 0) {
+                deleteOverLimit();
+            }
+        }
+
+        /**
+         * Delete oldest backups while total size of the backups is over the limit
+         */
+        private void deleteOverLimit() {
+            long totalSize = 0;
+            File[] backups = new File[backupsCount + 1];
+            for (int i = 1; i <= backupsCount; i++) {
+                backups[i] = findBackupFile(file, i);
+                if (backups[i] != null) {
+                    totalSize += backups[i].length();
+                }
+            }
+            for (int i = backupsCount; i > 0 && totalSize > maxTotalSize; i--) {
+                if (backups[i] != null) {
+                    long size = backups[i].length();
+                    if (backups[i].delete()) {
+                        totalSize -= size;
+                    }
+                }
             }
         }
-        return success;
     }
 }
@@ -17,6 +17,7 @@
 package software.rsquared.androidlogger.file;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import java.util.Map;
 
@@ -25,13 +26,17 @@ import java.util.Map;
  */
 @SuppressWarnings("unused")
 public class RollingFileAppenderConfig extends BaseFileAppenderConfig<RollingFileAppenderConfig> {
-    private static int B = 1;
-    private static int KB = 1024 * B;
-    private static int MB = 1024 * KB;
-    private static int GB = 1024 * MB;
-
     private long maxFileSize = -1;
     private int maxFileBackupCount = 0;
+    private long maxTotalBackupSize = -1;
+    private boolean compressBackups = false;
+    private RollingPeriod rollingPeriod;
+    private RollingPolicy rollingPolicy;
+
+    /**
+     * Policy created from {@link #maxFileSize} and {@link #rollingPeriod} if custom policy is not set
+     */
+    private RollingPolicy defaultRollingPolicy;
 
     RollingFileAppenderConfig() {
     }
@@ -42,6 +47,7 @@ public class RollingFileAppenderConfig extends BaseFileAppenderConfig<RollingFil
 
     public RollingFileAppenderConfig setMaxFileSize(long maxFileSize) {
         this.maxFileSize = maxFileSize;
+        this.defaultRollingPolicy = null;
         return this;
     }
 
@@ -51,6 +57,77 @@ public class RollingFileAppenderConfig extends BaseFileAppenderConfig<RollingFil
 
     public RollingFileAppenderConfig setMaxFileBackupCount(int maxFileBackupCount) {
         this.maxFileBackupCount = maxFileBackupCount;
+        this.defaultRollingPolicy = null;
+        return this;
+    }
+
+    public long getMaxTotalBackupSize() {
+        return maxTotalBackupSize;
+    }
+
+    /**
+     * Maximum size of all backups in bytes, oldest backups are deleted when it is exceeded. If backups are {@link #setCompressBackups(boolean) compressed}
+     * then compressed size is counted. Negative value disables the limit.
+     */
+    public RollingFileAppenderConfig setMaxTotalBackupSize(long maxTotalBackupSize) {
+        this.maxTotalBackupSize = maxTotalBackupSize;
+        return this;
+    }
+
+    public boolean isCompressBackups() {
+        return compressBackups;
+    }
+
+    /**
+     * Compress rolled files with gzip, compression is done on the background thread. Compressed backups have <code>.gz</code> extension.
+     */
+    public RollingFileAppenderConfig setCompressBackups(boolean compressBackups) {
+        this.compressBackups = compressBackups;
+        return this;
+    }
+
+    @Nullable
+    public RollingPeriod getRollingPeriod() {
+        return rollingPeriod;
+    }
+
+    /**
+     * Roll the file over at the start of every period, can be combined with {@link #setMaxFileSize(long) max file size}.<p>
+     * If the path of the file contains {@link #DATE} then new file is created for the new date, otherwise current file is moved to the backups.
+     */
+    public RollingFileAppenderConfig setRollingPeriod(@Nullable RollingPeriod rollingPeriod) {
+        this.rollingPeriod = rollingPeriod;
+        this.defaultRollingPolicy = null;
+        return this;
+    }
+
+    /**
+     * Returns custom policy or policy created from {@link #setMaxFileSize(long) max file size} and {@link #setRollingPeriod(RollingPeriod) rolling period}
+     */
+    @Nullable
+    public RollingPolicy getRollingPolicy() {
+        if (rollingPolicy != null) {
+            return rollingPolicy;
+        }
+        if (defaultRollingPolicy == null) {
+            // file that exceeds max size can't be rolled over without backups
+            boolean sizeLimited = maxFileSize > 0 && maxFileBackupCount > 0;
+            if (sizeLimited && rollingPeriod != null) {
+                defaultRollingPolicy = new SizeAndTimeRollingPolicy(maxFileSize, rollingPeriod);
+            } else if (sizeLimited) {
+                defaultRollingPolicy = new SizeRollingPolicy(maxFileSize);
+            } else if (rollingPeriod != null) {
+                defaultRollingPolicy = new TimeRollingPolicy(rollingPeriod);
+            }
+        }
+        return defaultRollingPolicy;
+    }
+
+    /**
+     * Set custom policy, which replaces {@link #setMaxFileSize(long) max file size} and {@link #setRollingPeriod(RollingPeriod) rolling period}
+     */
+    public RollingFileAppenderConfig setRollingPolicy(@Nullable RollingPolicy rollingPolicy) {
+        this.rollingPolicy = rollingPolicy;
         return this;
     }
 
@@ -66,24 +143,19 @@ public class RollingFileAppenderConfig extends BaseFileAppenderConfig<RollingFil
             //noinspection ResourceType
             setMaxFileBackupCount(Integer.parseInt(config.get("maxFileBackupCount")));
         }
-    }
 
-    private long parseFileSize(@NonNull String size) {
-        if (size.matches("^\\d$")) {
-            return Long.parseLong(size);
-        } else if (size.matches("^\\d+(b|B)$")) {
-            size = size.substring(0, size.length() - 1);
-            return Long.parseLong(size) * B;
-        } else if (size.matches("^\\d+((k|K)(b|B))$")) {
-            size = size.substring(0, size.length() - 2);
-            return Long.parseLong(size) * KB;
-        } else if (size.matches("^\\d+((m|M)(b|B))$")) {
-            size = size.substring(0, size.length() - 2);
-            return Long.parseLong(size) * MB;
-        } else if (size.matches("^\\d+((g|G)(b|B))$")) {
-            size = size.substring(0, size.length() - 2);
-            return Long.parseLong(size) * GB;
+        if (config.containsKey("maxTotalBackupSize")) {
+            //noinspection ResourceType
+            setMaxTotalBackupSize(parseFileSize(config.get("maxTotalBackupSize")));
+        }
+
+        if (config.containsKey("compressBackups")) {
+            setCompressBackups(Boolean.parseBoolean(config.get("compressBackups")));
+        }
+
+        if (config.containsKey("rollingPeriod")) {
+            //noinspection ResourceType
+            setRollingPeriod(RollingPeriod.valueOf(config.get("rollingPeriod")));
         }
-        return Long.parseLong(size);
     }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.rsquared.androidlogger.file;
+
+import java.util.Calendar;
+
+/**
+ * Period of the {@link TimeRollingPolicy time based} log file rollover
+ *
+ * @author Rafal Zajfert
+ */
+public enum RollingPeriod {
+    HOUR(Calendar.HOUR_OF_DAY),
+    DAY(Calendar.DAY_OF_MONTH),
+    WEEK(Calendar.WEEK_OF_YEAR),
+    MONTH(Calendar.MONTH);
+
+    private final int field;
+
+    RollingPeriod(int field) {
+        this.field = field;
+    }
+
+    /**
+     * Returns start of the period that follows the period containing given time
+     */
+    long getNextBoundary(long time) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        switch (this) {
+            case MONTH:
+                calendar.set(Calendar.DAY_OF_MONTH, 1);
+                // fall through
+            case DAY:
+                calendar.set(Calendar.HOUR_OF_DAY, 0);
+                // fall through
+            case HOUR:
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                calendar.set(Calendar.MILLISECOND, 0);
+                break;
+            case WEEK:
+                calendar.set(Calendar.DAY_OF_WEEK, calendar.getFirstDayOfWeek());
+                calendar.set(Calendar.HOUR_OF_DAY, 0);
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                calendar.set(Calendar.MILLISECOND, 0);
+                break;
+        }
+        calendar.add(field, 1);
+        return calendar.getTimeInMillis();
+    }
+}
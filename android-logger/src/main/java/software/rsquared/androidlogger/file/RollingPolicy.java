@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.rsquared.androidlogger.file;
+
+import android.support.annotation.NonNull;
+
+import java.io.File;
+
+/**
+ * Policy that decides when the {@link RollingFileAppender} should start a new log file.<p>
+ * Policy is checked before every message is written, so the check should not access the file system or format dates.
+ *
+ * @author Rafal Zajfert
+ */
+public interface RollingPolicy {
+
+    /**
+     * @param file     current log file
+     * @param fileSize size of the current file including buffered messages
+     * @param time     current time in milliseconds
+     * @return true if the file should be rolled over before the next message is written
+     */
+    boolean isTriggered(@NonNull File file, long fileSize, long time);
+
+    /**
+     * Called after the file was rolled over
+     *
+     * @param time current time in milliseconds
+     */
+    void rolledOver(long time);
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.rsquared.androidlogger.file;
+
+import android.support.annotation.NonNull;
+
+import java.io.File;
+
+/**
+ * {@link RollingPolicy} that rolls the file over on the {@link RollingPeriod period} boundary and when its size exceeds the limit
+ *
+ * @author Rafal Zajfert
+ */
+@SuppressWarnings("unused")
+public class SizeAndTimeRollingPolicy implements RollingPolicy {
+
+    @NonNull
+    private final SizeRollingPolicy sizePolicy;
+
+    @NonNull
+    private final TimeRollingPolicy timePolicy;
+
+    /**
+     * @param maxFileSize maximum size of the file in bytes
+     * @param period      period of the time based rollover
+     */
+    public SizeAndTimeRollingPolicy(long maxFileSize, @NonNull RollingPeriod period) {
+        this.sizePolicy = new SizeRollingPolicy(maxFileSize);
+        this.timePolicy = new TimeRollingPolicy(period);
+    }
+
+    public long getMaxFileSize() {
+        return sizePolicy.getMaxFileSize();
+    }
+
+    @NonNull
+    public RollingPeriod getPeriod() {
+        return timePolicy.getPeriod();
+    }
+
+    @Override
+    public boolean isTriggered(@NonNull File file, long fileSize, long time) {
+        // time policy is checked first, so its boundary is initialized with the first message
+        return timePolicy.isTriggered(file, fileSize, time) || sizePolicy.isTriggered(file, fileSize, time);
+    }
+
+    @Override
+    public void rolledOver(long time) {
+        sizePolicy.rolledOver(time);
+        timePolicy.rolledOver(time);
+    }
+}
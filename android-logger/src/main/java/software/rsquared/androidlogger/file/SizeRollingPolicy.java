@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.rsquared.androidlogger.file;
+
+import android.support.annotation.NonNull;
+
+import java.io.File;
+
+/**
+ * {@link RollingPolicy} that rolls the file over when its size exceeds the limit
+ *
+ * @author Rafal Zajfert
+ */
+@SuppressWarnings("unused")
+public class SizeRollingPolicy implements RollingPolicy {
+
+    private final long maxFileSize;
+
+    /**
+     * @param maxFileSize maximum size of the file in bytes
+     */
+    public SizeRollingPolicy(long maxFileSize) {
+        if (maxFileSize <= 0) {
+            throw new IllegalArgumentException("Max file size must be greater than 0");
+        }
+        this.maxFileSize = maxFileSize;
+    }
+
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    @Override
+    public boolean isTriggered(@NonNull File file, long fileSize, long time) {
+        return fileSize > maxFileSize;
+    }
+
+    @Override
+    public void rolledOver(long time) {
+    }
+}
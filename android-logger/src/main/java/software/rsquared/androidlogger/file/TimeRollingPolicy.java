@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.rsquared.androidlogger.file;
+
+import android.support.annotation.NonNull;
+
+import java.io.File;
+
+/**
+ * {@link RollingPolicy} that rolls the file over on the {@link RollingPeriod period} boundary, e.g. at midnight.<p>
+ * Time of the next boundary is computed only after rollover, so the check for every message is a single comparison.
+ *
+ * @author Rafal Zajfert
+ */
+@SuppressWarnings("unused")
+public class TimeRollingPolicy implements RollingPolicy {
+
+    @NonNull
+    private final RollingPeriod period;
+
+    /**
+     * Time of the next rollover in milliseconds, {@link Long#MIN_VALUE} if not computed yet
+     */
+    private long nextRollover = Long.MIN_VALUE;
+
+    public TimeRollingPolicy(@NonNull RollingPeriod period) {
+        this.period = period;
+    }
+
+    @NonNull
+    public RollingPeriod getPeriod() {
+        return period;
+    }
+
+    @Override
+    public boolean isTriggered(@NonNull File file, long fileSize, long time) {
+        if (nextRollover == Long.MIN_VALUE) {
+            // file created in the previous period should be rolled over with the first message
+            nextRollover = period.getNextBoundary(fileSize > 0 ? file.lastModified() : time);
+        }
+        return time >= nextRollover;
+    }
+
+    @Override
+    public void rolledOver(long time) {
+        nextRollover = period.getNextBoundary(time);
+    }
+}
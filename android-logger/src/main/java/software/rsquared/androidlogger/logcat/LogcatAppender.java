@@ -16,18 +16,55 @@
 
 package software.rsquared.androidlogger.logcat;
 
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.util.Log;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import software.rsquared.androidlogger.Appender;
 import software.rsquared.androidlogger.ConfigurableAppender;
 import software.rsquared.androidlogger.Level;
 
 /**
+ * Appender that writes messages to the logcat.<p>
+ * Messages longer than the logcat entry are split on the length of the UTF-8 encoded text, preferably after whitespace,
+ * so each message is written with the minimum number of {@link Log#println(int, String, String)} calls.
+ *
  * @author Rafal Zajfert
  */
 @SuppressWarnings("unused")
 public class LogcatAppender extends Appender implements ConfigurableAppender<LogcatAppenderConfig> {
 
+    /**
+     * Maximum size of the logcat entry payload (LOGGER_ENTRY_MAX_PAYLOAD), which contains priority, tag and message, both terminated with the null character
+     */
+    private static final int MAX_PAYLOAD_BYTES = 4068;
+
+    /**
+     * Maximum encoded size of the tag, so there is always enough space left for the message
+     */
+    private static final int MAX_TAG_BYTES = 256;
+
+    private static final int MAX_CACHED_TAGS = 256;
+
+    /**
+     * Logcat priorities indexed by {@link Level#ordinal()}, -1 for levels that are not logged
+     */
+    private static final int[] PRIORITIES = new int[Level.values().length];
+
+    static {
+        for (Level level : Level.values()) {
+            PRIORITIES[level.ordinal()] = getPriority(level);
+        }
+    }
+
+    /**
+     * Tags truncated to the logcat limits with their encoded length, computed once per distinct tag
+     */
+    private final Map<String, LogcatTag> tags = new ConcurrentHashMap<>();
+
     private LogcatAppenderConfig config;
 
     public LogcatAppender() {
@@ -43,22 +80,147 @@ public class LogcatAppender extends Appender implements ConfigurableAppender<Log
 
     @Override
     protected void append(Level level, String tag, String message) {
+        int priority = PRIORITIES[level.ordinal()];
+        if (priority < 0) {
+            return;
+        }
+        LogcatTag logcatTag = getLogcatTag(tag);
+        int maxMessageBytes = MAX_PAYLOAD_BYTES - logcatTag.bytes - 3;
+        if (message.length() * 3 <= maxMessageBytes) {
+            // even if every character takes 3 bytes, the message fits into the single entry
+            Log.println(priority, logcatTag.name, message);
+            return;
+        }
+        int start = 0;
+        while (start < message.length()) {
+            int end = nextChunkEnd(message, start, maxMessageBytes, true);
+            Log.println(priority, logcatTag.name, start == 0 && end == message.length() ? message : message.substring(start, end));
+            start = end;
+        }
+    }
+
+    @NonNull
+    private LogcatTag getLogcatTag(@Nullable String tag) {
+        if (tag == null) {
+            return LogcatTag.EMPTY;
+        }
+        int maxLength = getConfig().getMaxTagLength();
+        LogcatTag logcatTag = tags.get(tag);
+        if (logcatTag == null || logcatTag.maxLength != maxLength) {
+            if (tags.size() >= MAX_CACHED_TAGS) {
+                // tags with line numbers can be unlimited, it's cheaper to start again than to track usage
+                tags.clear();
+            }
+            logcatTag = new LogcatTag(tag, maxLength);
+            tags.put(tag, logcatTag);
+        }
+        return logcatTag;
+    }
+
+    /**
+     * Returns end index (exclusive) of the chunk that starts at the specified index and has no more than maxBytes UTF-8 bytes.
+     * If breakOnWhitespace is true then chunk ends after the last whitespace that fits into it, otherwise (and for longer words)
+     * the text is split between characters.
+     */
+    static int nextChunkEnd(@NonNull String text, int start, int maxBytes, boolean breakOnWhitespace) {
+        int bytes = 0;
+        int lastWhitespaceEnd = -1;
+        int i = start;
+        int length = text.length();
+        while (i < length) {
+            char c = text.charAt(i);
+            int charCount = isSurrogatePair(text, i) ? 2 : 1;
+            int charBytes = charCount == 2 ? 4 : getEncodedLength(c);
+            if (bytes + charBytes > maxBytes) {
+                if (lastWhitespaceEnd > start) {
+                    return lastWhitespaceEnd;
+                }
+                return i > start ? i : i + charCount;
+            }
+            bytes += charBytes;
+            i += charCount;
+            if (breakOnWhitespace && Character.isWhitespace(c)) {
+                lastWhitespaceEnd = i;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Length of the text encoded in UTF-8
+     */
+    static int getEncodedLength(@NonNull String text) {
+        int bytes = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (isSurrogatePair(text, i)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += getEncodedLength(text.charAt(i));
+            }
+        }
+        return bytes;
+    }
+
+    private static int getEncodedLength(char c) {
+        if (c < 0x80) {
+            return 1;
+        } else if (c < 0x800) {
+            return 2;
+        } else {
+            return 3;
+        }
+    }
+
+    private static boolean isSurrogatePair(@NonNull String text, int index) {
+        return Character.isHighSurrogate(text.charAt(index)) && index + 1 < text.length() && Character.isLowSurrogate(text.charAt(index + 1));
+    }
+
+    private static int getPriority(@NonNull Level level) {
         switch (level) {
             case ERROR:
-                Log.e(tag, message);
-                break;
+                return Log.ERROR;
             case INFO:
-                Log.i(tag, message);
-                break;
+                return Log.INFO;
             case DEBUG:
-                Log.d(tag, message);
-                break;
+                return Log.DEBUG;
             case VERBOSE:
-                Log.v(tag, message);
-                break;
+                return Log.VERBOSE;
             case WARNING:
-                Log.w(tag, message);
-                break;
+                return Log.WARN;
+            default:
+                return -1;
+        }
+    }
+
+    private static final class LogcatTag {
+
+        static final LogcatTag EMPTY = new LogcatTag("", 0);
+
+        @NonNull
+        final String name;
+
+        /**
+         * Length of the encoded name
+         */
+        final int bytes;
+
+        /**
+         * {@link LogcatAppenderConfig#getMaxTagLength()} used to truncate the name
+         */
+        final int maxLength;
+
+        LogcatTag(@NonNull String tag, int maxLength) {
+            String name = tag;
+            if (maxLength > 0 && tag.length() > maxLength) {
+                int end = Character.isHighSurrogate(tag.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+                name = tag.substring(0, end);
+            }
+            int end = nextChunkEnd(name, 0, MAX_TAG_BYTES, false);
+            this.name = end < name.length() ? name.substring(0, end) : name;
+            this.bytes = getEncodedLength(this.name);
+            this.maxLength = maxLength;
         }
     }
 }
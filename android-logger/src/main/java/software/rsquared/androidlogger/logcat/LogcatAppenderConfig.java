@@ -16,6 +16,10 @@
 
 package software.rsquared.androidlogger.logcat;
 
+import android.support.annotation.NonNull;
+
+import java.util.Map;
+
 import software.rsquared.androidlogger.AppenderConfig;
 
 /**
@@ -24,6 +28,40 @@ import software.rsquared.androidlogger.AppenderConfig;
 @SuppressWarnings("unused")
 public class LogcatAppenderConfig extends AppenderConfig<LogcatAppenderConfig> {
 
+	/**
+	 * Maximum number of characters of the tag, 0 if tag is limited only by the size of the logcat entry
+	 */
+	private int maxTagLength = 0;
+
 	LogcatAppenderConfig() {
+		// messages are split by the appender on the encoded length of the logcat entry
+		setChunkSize(0);
+	}
+
+	/**
+	 * Maximum number of characters of the tag, longer tags are truncated. 0 (default) if tag is limited only by the size of the logcat entry.<p>
+	 * Devices before Android 7.0 accept only tags with up to 23 characters in {@link android.util.Log#isLoggable(String, int)}
+	 */
+	public LogcatAppenderConfig setMaxTagLength(int maxTagLength) {
+		if (maxTagLength < 0) {
+			throw new IllegalArgumentException("Max tag length must be greater than or equal to 0");
+		}
+		this.maxTagLength = maxTagLength;
+		return this;
+	}
+
+	/**
+	 * Maximum number of characters of the tag, 0 if tag is limited only by the size of the logcat entry
+	 */
+	public int getMaxTagLength() {
+		return maxTagLength;
+	}
+
+	@Override
+	protected void read(@NonNull Map<String, String> config) {
+		super.read(config);
+		if (config.containsKey("maxTagLength")) {
+			setMaxTagLength(Integer.parseInt(config.get("maxTagLength")));
+		}
 	}
 }
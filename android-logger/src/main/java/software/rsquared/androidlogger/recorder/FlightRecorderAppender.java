@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.rsquared.androidlogger.recorder;
+
+import software.rsquared.androidlogger.Appender;
+import software.rsquared.androidlogger.ConfigurableAppender;
+import software.rsquared.androidlogger.Level;
+import software.rsquared.androidlogger.Logger;
+import software.rsquared.androidlogger.LoggerConfig;
+import software.rsquared.androidlogger.Tag;
+
+/**
+ * {@link Logger Logger} that keeps the last messages in memory and appends them to the {@link FlightRecorderAppenderConfig#setTarget(Appender) target}
+ * only when something goes wrong.<p>
+ * Recorded messages are dumped when a message with the {@link FlightRecorderAppenderConfig#setDumpLevel(Level) dump level} is logged.
+ * Uncaught exceptions caught with {@link LoggerConfig#catchUncaughtExceptions()} and ANRs detected by the {@link software.rsquared.androidlogger.LoggableANRWatchDog}
+ * are logged as {@link Level#ERROR ERROR}, so with the default dump level they dump the history too. Messages can also be dumped with {@link #dump()}.<p>
+ * Messages are kept in the preallocated ring, so recording a message doesn't allocate anything except its text.
+ *
+ * @author Rafal Zajfert
+ */
+@SuppressWarnings("unused")
+public class FlightRecorderAppender extends Appender implements ConfigurableAppender<FlightRecorderAppenderConfig> {
+
+	private FlightRecorderAppenderConfig config;
+
+	private Level[] levels;
+	private Tag[] tags;
+	private String[] messages;
+	private long[] times;
+	private StackTraceElement[] callers;
+
+	/**
+	 * Index of the oldest message
+	 */
+	private int head;
+
+	private int count;
+
+	/**
+	 * Size of the recorded messages in characters
+	 */
+	private long size;
+
+	public FlightRecorderAppender() {
+	}
+
+	public FlightRecorderAppender(Appender target) {
+		getConfig().setTarget(target);
+	}
+
+	@Override
+	public FlightRecorderAppenderConfig getConfig() {
+		if (config == null) {
+			config = new FlightRecorderAppenderConfig();
+		}
+		return config;
+	}
+
+	@Override
+	protected void append(Level level, Tag tag, Object message, Throwable throwable) {
+		Appender target = getConfig().getTarget();
+		StackTraceElement caller = target != null && isCallerRequired(target, tag) ? getCaller() : null;
+		record(level, tag, getText(level, message, throwable), getTimeMillis(), caller);
+		if (level.ordinal() >= config.getDumpLevel().ordinal()) {
+			dump();
+		}
+	}
+
+	@Override
+	protected void append(Level level, String tag, String message) {
+		// messages are recorded before the tag is formatted
+	}
+
+	private synchronized void record(Level level, Tag tag, String message, long time, StackTraceElement caller) {
+		int capacity = config.getCapacity();
+		if (levels == null || levels.length != capacity) {
+			allocate(capacity);
+		}
+		if (count == capacity) {
+			removeOldest();
+		}
+		int index = (head + count) % capacity;
+		levels[index] = level;
+		tags[index] = tag;
+		messages[index] = message;
+		times[index] = time;
+		callers[index] = caller;
+		count++;
+		size += message.length();
+
+		long maxSize = config.getMaxSize();
+		while (maxSize >= 0 && size * 2 > maxSize && count > 1) {
+			removeOldest();
+		}
+	}
+
+	private void allocate(int capacity) {
+		levels = new Level[capacity];
+		tags = new Tag[capacity];
+		messages = new String[capacity];
+		times = new long[capacity];
+		callers = new StackTraceElement[capacity];
+		head = 0;
+		count = 0;
+		size = 0;
+	}
+
+	private void removeOldest() {
+		size -= messages[head].length();
+		clear(head);
+		head = (head + 1) % levels.length;
+		count--;
+	}
+
+	private void clear(int index) {
+		levels[index] = null;
+		tags[index] = null;
+		messages[index] = null;
+		callers[index] = null;
+	}
+
+	/**
+	 * Append all recorded messages to the target, from the oldest, and remove them from the recorder
+	 */
+	public synchronized void dump() {
+		Appender target = getConfig().getTarget();
+		if (target == null || count == 0) {
+			return;
+		}
+		for (int i = 0; i < count; i++) {
+			int index = (head + i) % levels.length;
+			appendTo(target, levels[index], tags[index], messages[index], null, times[index], callers[index]);
+			clear(index);
+		}
+		head = 0;
+		count = 0;
+		size = 0;
+		flush(target);
+	}
+
+	/**
+	 * Remove all recorded messages without appending them
+	 */
+	public synchronized void clear() {
+		if (levels != null) {
+			allocate(levels.length);
+		}
+	}
+
+	/**
+	 * Number of recorded messages
+	 */
+	public synchronized int getCount() {
+		return count;
+	}
+
+	@Override
+	protected void flush() {
+		Appender target = getConfig().getTarget();
+		if (target != null) {
+			flush(target);
+		}
+	}
+}
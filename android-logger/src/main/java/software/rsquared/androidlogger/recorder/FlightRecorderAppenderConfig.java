@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.rsquared.androidlogger.recorder;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Map;
+
+import software.rsquared.androidlogger.Appender;
+import software.rsquared.androidlogger.AppenderConfig;
+import software.rsquared.androidlogger.Level;
+
+/**
+ * @author Rafal Zajfert
+ */
+@SuppressWarnings("unused")
+public class FlightRecorderAppenderConfig extends AppenderConfig<FlightRecorderAppenderConfig> {
+	public static final int DEFAULT_CAPACITY = 500;
+
+	private int capacity = DEFAULT_CAPACITY;
+
+	private long maxSize = -1;
+
+	@NonNull
+	private Level dumpLevel = Level.ERROR;
+
+	@Nullable
+	private Appender target;
+
+	FlightRecorderAppenderConfig() {
+		setLevel(Level.VERBOSE);
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Maximum number of the recorded messages, buffer is allocated when the first message is recorded. <p>Default: <code>{@value #DEFAULT_CAPACITY}</code>
+	 */
+	public FlightRecorderAppenderConfig setCapacity(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be greater than 0");
+		}
+		this.capacity = capacity;
+		return this;
+	}
+
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Maximum size of the recorded messages in bytes (counted as 2 bytes per character), oldest messages are removed when it is exceeded.
+	 * Negative value disables the limit.
+	 */
+	public FlightRecorderAppenderConfig setMaxSize(long maxSize) {
+		this.maxSize = maxSize;
+		return this;
+	}
+
+	@NonNull
+	public Level getDumpLevel() {
+		return dumpLevel;
+	}
+
+	/**
+	 * Minimal level of the message that dumps recorded messages to the {@link #setTarget(Appender) target}. <p>Default: {@link Level#ERROR ERROR}
+	 */
+	public FlightRecorderAppenderConfig setDumpLevel(@NonNull Level dumpLevel) {
+		this.dumpLevel = dumpLevel;
+		return this;
+	}
+
+	@Nullable
+	public Appender getTarget() {
+		return target;
+	}
+
+	/**
+	 * Appender that receives recorded messages when they are dumped. Level of the target is ignored, so all recorded messages are appended.
+	 */
+	public FlightRecorderAppenderConfig setTarget(@Nullable Appender target) {
+		this.target = target;
+		return this;
+	}
+
+	@Override
+	protected void read(@NonNull Map<String, String> config) {
+		super.read(config);
+		if (config.containsKey("capacity")) {
+			setCapacity(Integer.parseInt(config.get("capacity")));
+		}
+
+		if (config.containsKey("maxSize")) {
+			setMaxSize(Long.parseLong(config.get("maxSize")));
+		}
+
+		if (config.containsKey("dumpLevel")) {
+			//noinspection ResourceType
+			setDumpLevel(Level.valueOf(config.get("dumpLevel")));
+		}
+
+		if (config.containsKey("target")) {
+			setTarget(createTarget(config.get("target")));
+		}
+	}
+
+	@NonNull
+	private Appender createTarget(String targetClass) {
+		//noinspection TryWithIdenticalCatches
+		try {
+			return (Appender) Class.forName(targetClass).newInstance();
+		} catch (ClassNotFoundException e) {
+			throw new IllegalArgumentException("Appender class '" + targetClass + "' not found");
+		} catch (InstantiationException e) {
+			throw new IllegalArgumentException(targetClass + " must have public 0 args constructor");
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(targetClass + " must have public 0 args constructor");
+		}
+	}
+}
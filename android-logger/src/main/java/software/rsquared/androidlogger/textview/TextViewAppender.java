@@ -16,13 +16,21 @@
 
 package software.rsquared.androidlogger.textview;
 
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.MainThread;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.text.Editable;
 import android.text.Spannable;
 import android.text.SpannableString;
+import android.text.SpannableStringBuilder;
 import android.text.style.ForegroundColorSpan;
 import android.widget.TextView;
 
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
 import software.rsquared.androidlogger.Appender;
 import software.rsquared.androidlogger.ConfigurableAppender;
 import software.rsquared.androidlogger.Level;
@@ -30,16 +38,82 @@ import software.rsquared.androidlogger.Logger;
 import software.rsquared.androidlogger.logcat.LogcatAppender;
 
 /**
+ * Appender that prints messages in the TextView.<p>
+ * By default each message updates the TextView immediately, so messages must be logged on the main thread.
+ * In the {@link TextViewAppenderConfig#setBufferedRendering(boolean) buffered mode} colored lines are created on the logging thread
+ * and kept in the bounded buffer, which is rendered on the main thread at most once per frame. Only lines added since the previous frame
+ * are added to the text and the oldest lines are removed from it in place, so the frame cost doesn't grow with the number of displayed lines.
+ *
  * @author Rafal Zajfert
  */
 @SuppressWarnings("unused")
 public class TextViewAppender extends Appender implements ConfigurableAppender<TextViewAppenderConfig> {
+
+	/**
+	 * Minimum time between two updates of the TextView in the buffered mode
+	 */
+	private static final long FRAME_INTERVAL = 16;
+
 	private final Logger logger = Logger.createWith(new LogcatAppender());
 
 	private TextViewAppenderConfig config;
 
 	@Nullable
-	private TextView textView;
+	private volatile TextView textView;
+
+	private final Object lock = new Object();
+
+	/**
+	 * Lines displayed in the buffered mode, oldest first, guarded by {@link #lock}
+	 */
+	private final ArrayDeque<Spannable> lines = new ArrayDeque<>();
+
+	/**
+	 * Number of characters in the {@link #lines}, guarded by {@link #lock}
+	 */
+	private int linesLength;
+
+	/**
+	 * Number of all lines added to the {@link #lines}, guarded by {@link #lock}
+	 */
+	private long lineCount;
+
+	/**
+	 * True if the rendering of the {@link #lines} is already posted, guarded by {@link #lock}
+	 */
+	private boolean renderScheduled;
+
+	/**
+	 * Value of the {@link #lineCount} when the lines were rendered, guarded by {@link #lock}
+	 */
+	private long renderedCount;
+
+	/**
+	 * Lengths of the lines displayed in the TextView in the order of the text, used on the main thread only
+	 */
+	private final ArrayDeque<Integer> renderedLengths = new ArrayDeque<>();
+
+	/**
+	 * Number of characters of the displayed lines without separators, used on the main thread only
+	 */
+	private int renderedChars;
+
+	/**
+	 * TextView and settings that the lines were rendered with, used on the main thread only
+	 */
+	@Nullable
+	private TextView renderedView;
+
+	@Nullable
+	private TextViewAppenderConfig.Method renderedMethod;
+
+	@Nullable
+	private String renderedSeparator;
+
+	@Nullable
+	private Handler handler;
+
+	private final Runnable renderTask = this::render;
 
 	public TextViewAppender() {
 	}
@@ -58,11 +132,19 @@ public class TextViewAppender extends Appender implements ConfigurableAppender<T
 
 	public TextViewAppender setTextView(@Nullable TextView textView) {
 		this.textView = textView;
+		if (textView != null && getConfig().isBufferedRendering()) {
+			// show messages that were logged before the view was set
+			scheduleRender();
+		}
 		return this;
 	}
 
 	@Override
 	protected void append(Level level, String tag, String message) {
+		if (getConfig().isBufferedRendering()) {
+			appendBuffered(level, tag, message);
+			return;
+		}
         if (textView != null) {
             Spannable spannable = convertToSpannable(textView, level, tag, message);
 
@@ -98,6 +180,162 @@ public class TextViewAppender extends Appender implements ConfigurableAppender<T
         return spannable;
     }
 
+	/**
+	 * Put colored line into the buffer and schedule rendering if it's not scheduled yet
+	 */
+	private void appendBuffered(@NonNull Level level, String tag, String message) {
+		TextViewAppenderConfig config = getConfig();
+		Spannable line = new SpannableString(tag + Logger.SPACE + message);
+		line.setSpan(new ForegroundColorSpan(config.getColorScheme().getColor(level)), 0, line.length(), Spannable.SPAN_EXCLUSIVE_EXCLUSIVE);
+		synchronized (lock) {
+			if (TextViewAppenderConfig.Method.OVERWRITE.equals(config.getPrintMethod())) {
+				lines.clear();
+				linesLength = 0;
+			}
+			lines.addLast(line);
+			linesLength += line.length();
+			lineCount++;
+			int maxLines = config.getMaxLines();
+			int maxChars = config.getMaxChars();
+			while (lines.size() > 1 && ((maxLines > 0 && lines.size() > maxLines) || (maxChars > 0 && linesLength > maxChars))) {
+				linesLength -= lines.removeFirst().length();
+			}
+		}
+		scheduleRender();
+	}
+
+	private void scheduleRender() {
+		synchronized (lock) {
+			if (renderScheduled) {
+				return;
+			}
+			renderScheduled = true;
+		}
+		getHandler().postDelayed(renderTask, FRAME_INTERVAL);
+	}
+
+	@NonNull
+	private synchronized Handler getHandler() {
+		if (handler == null) {
+			handler = new Handler(Looper.getMainLooper());
+		}
+		return handler;
+	}
+
+	/**
+	 * Add lines buffered since the previous frame to the TextView, the whole text is replaced only if the view or the settings were changed
+	 */
+	@MainThread
+	private void render() {
+		TextView textView = this.textView;
+		if (textView == null) {
+			synchronized (lock) {
+				renderScheduled = false;
+			}
+			// lines stay in the buffer until the view is set
+			return;
+		}
+		TextViewAppenderConfig config = getConfig();
+		String separator = config.isInNewLine() ? Logger.NEW_LINE : Logger.SPACE;
+		TextViewAppenderConfig.Method method = config.getPrintMethod();
+		Editable editable = null;
+		if (textView == renderedView && method == renderedMethod && separator.equals(renderedSeparator)
+				&& !TextViewAppenderConfig.Method.OVERWRITE.equals(method)) {
+			editable = textView.getEditableText();
+			// text was changed outside of this appender
+			if (editable != null && editable.length() != getRenderedLength(separator)) {
+				editable = null;
+			}
+		}
+		Spannable[] added;
+		synchronized (lock) {
+			renderScheduled = false;
+			long count = lineCount - renderedCount;
+			if (editable == null || count > lines.size()) {
+				editable = null;
+				count = lines.size();
+			}
+			added = new Spannable[(int) count];
+			Iterator<Spannable> iterator = lines.descendingIterator();
+			for (int i = added.length - 1; i >= 0; i--) {
+				added[i] = iterator.next();
+			}
+			renderedCount = lineCount;
+		}
+		boolean newestFirst = TextViewAppenderConfig.Method.PREPEND.equals(method);
+		if (editable == null) {
+			renderedLengths.clear();
+			renderedChars = 0;
+			textView.setText(joinLines(added, separator, newestFirst, false), TextView.BufferType.EDITABLE);
+			renderedView = textView;
+			renderedMethod = method;
+			renderedSeparator = separator;
+		} else if (added.length > 0) {
+			if (newestFirst) {
+				editable.insert(0, joinLines(added, separator, true, true));
+			} else {
+				editable.append(joinLines(added, separator, false, true));
+			}
+			removeOldestLines(editable, separator, newestFirst, config);
+		}
+	}
+
+	/**
+	 * Join lines in the order of the text and register their lengths as displayed
+	 *
+	 * @param continued true if the lines are added to the already displayed lines and must be separated from them
+	 */
+	@NonNull
+	private SpannableStringBuilder joinLines(@NonNull Spannable[] added, @NonNull String separator, boolean newestFirst, boolean continued) {
+		SpannableStringBuilder builder = new SpannableStringBuilder();
+		boolean separated = continued && !renderedLengths.isEmpty();
+		for (int i = 0; i < added.length; i++) {
+			Spannable line = added[newestFirst ? added.length - 1 - i : i];
+			if (i > 0 || (separated && !newestFirst)) {
+				builder.append(separator);
+			}
+			builder.append(line);
+			renderedChars += line.length();
+		}
+		if (separated && newestFirst) {
+			builder.append(separator);
+		}
+		for (Spannable line : added) {
+			if (newestFirst) {
+				renderedLengths.addFirst(line.length());
+			} else {
+				renderedLengths.addLast(line.length());
+			}
+		}
+		return builder;
+	}
+
+	/**
+	 * Remove the oldest lines from the text in place, with the same limits as the buffer
+	 */
+	private void removeOldestLines(@NonNull Editable editable, @NonNull String separator, boolean newestFirst, @NonNull TextViewAppenderConfig config) {
+		int maxLines = config.getMaxLines();
+		int maxChars = config.getMaxChars();
+		while (renderedLengths.size() > 1 && ((maxLines > 0 && renderedLengths.size() > maxLines) || (maxChars > 0 && renderedChars > maxChars))) {
+			int length;
+			if (newestFirst) {
+				length = renderedLengths.removeLast();
+				editable.delete(editable.length() - length - separator.length(), editable.length());
+			} else {
+				length = renderedLengths.removeFirst();
+				editable.delete(0, length + separator.length());
+			}
+			renderedChars -= length;
+		}
+	}
+
+	/**
+	 * Length of the text with the displayed lines
+	 */
+	private int getRenderedLength(@NonNull String separator) {
+		return renderedLengths.isEmpty() ? 0 : renderedChars + (renderedLengths.size() - 1) * separator.length();
+	}
+
     private String getMessageSeparator(@NonNull TextView textView) {
         if (textView.length() <= 0) {
             return "";
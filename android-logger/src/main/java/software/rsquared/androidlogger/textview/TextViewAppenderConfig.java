@@ -37,6 +37,9 @@ public class TextViewAppenderConfig extends AppenderConfig<TextViewAppenderConfi
     private boolean inNewLine = true;
     private Method printMethod = Method.APPEND;
     private ColorScheme colorScheme = ColorScheme.LIGHT;
+    private boolean bufferedRendering = false;
+    private int maxLines = 1000;
+    private int maxChars = 100_000;
 
     TextViewAppenderConfig() {
     }
@@ -87,6 +90,60 @@ public class TextViewAppenderConfig extends AppenderConfig<TextViewAppenderConfi
         return inNewLine;
     }
 
+    /**
+     * If true then messages are collected in the buffer limited by {@link #setMaxLines(int)} and {@link #setMaxChars(int)}
+     * and the TextView is updated at most once per frame on the main thread. Messages can be logged on any thread in this mode.
+     */
+    public TextViewAppenderConfig setBufferedRendering(boolean bufferedRendering) {
+        this.bufferedRendering = bufferedRendering;
+        return this;
+    }
+
+    /**
+     * If true then messages are collected in the buffer and the TextView is updated at most once per frame
+     */
+    public boolean isBufferedRendering() {
+        return bufferedRendering;
+    }
+
+    /**
+     * Maximum number of messages displayed in the {@link #setBufferedRendering(boolean) buffered mode}, oldest messages are removed first.
+     * 0 if number of messages is not limited
+     */
+    public TextViewAppenderConfig setMaxLines(int maxLines) {
+        if (maxLines < 0) {
+            throw new IllegalArgumentException("Max lines must be greater than or equal to 0");
+        }
+        this.maxLines = maxLines;
+        return this;
+    }
+
+    /**
+     * Maximum number of messages displayed in the buffered mode, 0 if not limited
+     */
+    public int getMaxLines() {
+        return maxLines;
+    }
+
+    /**
+     * Maximum number of characters displayed in the {@link #setBufferedRendering(boolean) buffered mode}, oldest messages are removed first.
+     * 0 if number of characters is not limited
+     */
+    public TextViewAppenderConfig setMaxChars(int maxChars) {
+        if (maxChars < 0) {
+            throw new IllegalArgumentException("Max chars must be greater than or equal to 0");
+        }
+        this.maxChars = maxChars;
+        return this;
+    }
+
+    /**
+     * Maximum number of characters displayed in the buffered mode, 0 if not limited
+     */
+    public int getMaxChars() {
+        return maxChars;
+    }
+
     @Override
     protected void read(@NonNull Map<String, String> config) {
         super.read(config);
@@ -101,6 +158,15 @@ public class TextViewAppenderConfig extends AppenderConfig<TextViewAppenderConfi
                 throw new IllegalArgumentException("Unknown print method: " + config.get("printMethod"));
             }
         }
+        if (config.containsKey("bufferedRendering")) {
+            setBufferedRendering(Boolean.parseBoolean(config.get("bufferedRendering")));
+        }
+        if (config.containsKey("maxLines")) {
+            setMaxLines(Integer.parseInt(config.get("maxLines")));
+        }
+        if (config.containsKey("maxChars")) {
+            setMaxChars(Integer.parseInt(config.get("maxChars")));
+        }
         if (config.containsKey("colorScheme")) {
             String colorScheme = config.get("colorScheme");
             try {
@@ -180,6 +246,11 @@ public class TextViewAppenderConfig extends AppenderConfig<TextViewAppenderConfi
 
         private String colorError;
 
+        /**
+         * Colors parsed on the first use, indexed by {@link Level#ordinal()}
+         */
+        private volatile int[] colors;
+
         public ColorScheme(String colorVerbose, String colorDebug, String colorInfo, String colorWarning, String colorError) {
             this.colorVerbose = colorVerbose;
             this.colorDebug = colorDebug;
@@ -208,7 +279,16 @@ public class TextViewAppenderConfig extends AppenderConfig<TextViewAppenderConfi
 
         @ColorInt
         public int getColor(Level level) {
-            return Color.parseColor(getColorString(level));
+            int[] colors = this.colors;
+            if (colors == null) {
+                Level[] levels = Level.values();
+                colors = new int[levels.length];
+                for (Level value : levels) {
+                    colors[value.ordinal()] = Color.parseColor(getColorString(value));
+                }
+                this.colors = colors;
+            }
+            return colors[level.ordinal()];
         }
     }
 }
@@ -17,6 +17,12 @@
 package software.rsquared.androidlogger.toast;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.widget.Toast;
 
 import software.rsquared.androidlogger.Appender;
@@ -25,14 +31,55 @@ import software.rsquared.androidlogger.Level;
 import software.rsquared.androidlogger.Logger;
 
 /**
+ * Appender that shows messages in the toasts. Toasts are always shown on the main thread.<p>
+ * If the {@link ToastAppenderConfig#setCoalesceWindow(long) coalesce window} is set then messages logged within the window are merged
+ * into the single toast with the number of messages per level, and toasts are shown no more often than the
+ * {@link ToastAppenderConfig#setMinDisplayInterval(long) min display interval}.
+ *
  * @author Rafal Zajfert
  */
 @SuppressWarnings("unused")
 public class ToastAppender extends Appender implements ConfigurableAppender<ToastAppenderConfig> {
 
+	private static final Level[] LEVELS = Level.values();
+
 	private ToastAppenderConfig config;
 	private Context context;
 
+	private final Object lock = new Object();
+
+	/**
+	 * Number of merged messages per {@link Level#ordinal()}, guarded by {@link #lock}
+	 */
+	private final int[] counts = new int[LEVELS.length];
+
+	/**
+	 * Last merged message, guarded by {@link #lock}
+	 */
+	@Nullable
+	private String lastMessage;
+
+	/**
+	 * True if showing of the merged messages is already posted, guarded by {@link #lock}
+	 */
+	private boolean showScheduled;
+
+	/**
+	 * {@link SystemClock#uptimeMillis()} when the last merged toast was shown, guarded by {@link #lock}
+	 */
+	private long lastShowTime;
+
+	@Nullable
+	private Handler handler;
+
+	/**
+	 * Last merged toast, used only on the main thread
+	 */
+	@Nullable
+	private Toast toast;
+
+	private final Runnable showTask = this::showMerged;
+
 	public ToastAppender() {
 	}
 
@@ -57,6 +104,79 @@ public class ToastAppender extends Appender implements ConfigurableAppender<Toas
 		if (context == null) {
 			throw new IllegalStateException("Context = null, pleas set context in " + getClass().getSimpleName());
 		}
-		Toast.makeText(context, tag + Logger.SPACE + message, config.getDuration()).show();
+		ToastAppenderConfig config = getConfig();
+		String text = tag + Logger.SPACE + message;
+		long window = config.getCoalesceWindow();
+		if (window <= 0) {
+			Context context = this.context;
+			int duration = config.getDuration();
+			getHandler().post(() -> Toast.makeText(context, text, duration).show());
+			return;
+		}
+		long showTime;
+		synchronized (lock) {
+			counts[level.ordinal()]++;
+			lastMessage = text;
+			if (showScheduled) {
+				return;
+			}
+			showScheduled = true;
+			showTime = Math.max(SystemClock.uptimeMillis() + window, lastShowTime + config.getMinDisplayInterval());
+		}
+		getHandler().postAtTime(showTask, showTime);
+	}
+
+	@NonNull
+	private synchronized Handler getHandler() {
+		if (handler == null) {
+			handler = new Handler(Looper.getMainLooper());
+		}
+		return handler;
+	}
+
+	/**
+	 * Show single toast with the last merged message and the number of messages per level
+	 */
+	@MainThread
+	private void showMerged() {
+		String text;
+		synchronized (lock) {
+			text = getMergedText();
+			for (int i = 0; i < counts.length; i++) {
+				counts[i] = 0;
+			}
+			lastMessage = null;
+			showScheduled = false;
+			lastShowTime = SystemClock.uptimeMillis();
+		}
+		if (toast != null) {
+			toast.cancel();
+		}
+		toast = Toast.makeText(context, text, getConfig().getDuration());
+		toast.show();
+	}
+
+	/**
+	 * Guarded by {@link #lock}
+	 */
+	@NonNull
+	private String getMergedText() {
+		int total = 0;
+		for (int count : counts) {
+			total += count;
+		}
+		if (total <= 1) {
+			return String.valueOf(lastMessage);
+		}
+		StringBuilder builder = new StringBuilder();
+		builder.append(total).append(" messages:");
+		boolean first = true;
+		for (int i = LEVELS.length - 1; i >= 0; i--) {
+			if (counts[i] > 0) {
+				builder.append(first ? " " : ", ").append(counts[i]).append(Logger.SPACE).append(LEVELS[i].name());
+				first = false;
+			}
+		}
+		return builder.append(Logger.NEW_LINE).append(lastMessage).toString();
 	}
 }
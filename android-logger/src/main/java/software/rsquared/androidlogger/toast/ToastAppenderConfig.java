@@ -42,6 +42,10 @@ public class ToastAppenderConfig extends AppenderConfig<ToastAppenderConfig> {
     @Duration
     private int duration = Toast.LENGTH_SHORT;
 
+    private long coalesceWindow = 0;
+
+    private long minDisplayInterval = 2000;
+
     ToastAppenderConfig() {
     }
 
@@ -61,6 +65,43 @@ public class ToastAppenderConfig extends AppenderConfig<ToastAppenderConfig> {
         return this.duration;
     }
 
+    /**
+     * Time in milliseconds in which messages are merged into the single toast with the number of messages per level.
+     * 0 (default) if each message is shown in its own toast
+     */
+    public ToastAppenderConfig setCoalesceWindow(long coalesceWindow) {
+        if (coalesceWindow < 0) {
+            throw new IllegalArgumentException("Coalesce window must be greater than or equal to 0");
+        }
+        this.coalesceWindow = coalesceWindow;
+        return this;
+    }
+
+    /**
+     * Time in milliseconds in which messages are merged into the single toast, 0 if messages are not merged
+     */
+    public long getCoalesceWindow() {
+        return coalesceWindow;
+    }
+
+    /**
+     * Minimum time in milliseconds between two toasts when the messages are {@link #setCoalesceWindow(long) merged}, default 2000
+     */
+    public ToastAppenderConfig setMinDisplayInterval(long minDisplayInterval) {
+        if (minDisplayInterval < 0) {
+            throw new IllegalArgumentException("Min display interval must be greater than or equal to 0");
+        }
+        this.minDisplayInterval = minDisplayInterval;
+        return this;
+    }
+
+    /**
+     * Minimum time in milliseconds between two toasts when the messages are merged
+     */
+    public long getMinDisplayInterval() {
+        return minDisplayInterval;
+    }
+
     @Override
     protected void read(@NonNull Map<String, String> config) {
         super.read(config);
@@ -77,5 +118,11 @@ public class ToastAppenderConfig extends AppenderConfig<ToastAppenderConfig> {
                     throw new IllegalArgumentException("Illegal duration length. Must be one of: LENGTH_SHORT, LENGTH_LONG");
             }
         }
+        if (config.containsKey("coalesceWindow")) {
+            setCoalesceWindow(Long.parseLong(config.get("coalesceWindow")));
+        }
+        if (config.containsKey("minDisplayInterval")) {
+            setMinDisplayInterval(Long.parseLong(config.get("minDisplayInterval")));
+        }
     }
 }
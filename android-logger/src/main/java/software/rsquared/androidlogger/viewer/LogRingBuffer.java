@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.rsquared.androidlogger.viewer;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import software.rsquared.androidlogger.Level;
+
+/**
+ * Fixed capacity ring of messages displayed by the {@link LogViewerAdapter}. Each message is identified by its sequence number,
+ * which grows with every added message, so the message is still identified correctly after the older ones are removed.<p>
+ * Buffer is not thread safe, it's used only on the main thread.
+ *
+ * @author Rafal Zajfert
+ */
+final class LogRingBuffer {
+
+	@NonNull
+	private final Level[] levels;
+
+	@NonNull
+	private final String[] tags;
+
+	@NonNull
+	private final String[] messages;
+
+	/**
+	 * Sequence number of the oldest message
+	 */
+	private long firstSequence;
+
+	/**
+	 * Sequence number of the next added message
+	 */
+	private long nextSequence;
+
+	LogRingBuffer(int capacity) {
+		levels = new Level[capacity];
+		tags = new String[capacity];
+		messages = new String[capacity];
+	}
+
+	int getCapacity() {
+		return levels.length;
+	}
+
+	/**
+	 * Sequence number of the oldest message in the buffer
+	 */
+	long getFirstSequence() {
+		return firstSequence;
+	}
+
+	/**
+	 * Sequence number of the next added message
+	 */
+	long getNextSequence() {
+		return nextSequence;
+	}
+
+	/**
+	 * Add message, the oldest message is overwritten if the buffer is full
+	 */
+	void add(@NonNull Level level, @Nullable String tag, @NonNull String message) {
+		int index = index(nextSequence);
+		levels[index] = level;
+		tags[index] = tag;
+		messages[index] = message;
+		nextSequence++;
+		if (nextSequence - firstSequence > levels.length) {
+			firstSequence++;
+		}
+	}
+
+	@NonNull
+	Level getLevel(long sequence) {
+		return levels[index(sequence)];
+	}
+
+	@Nullable
+	String getTag(long sequence) {
+		return tags[index(sequence)];
+	}
+
+	@NonNull
+	String getMessage(long sequence) {
+		return messages[index(sequence)];
+	}
+
+	/**
+	 * Remove all messages, sequence numbers are not reset so the old rows are never mistaken for the new ones
+	 */
+	void clear() {
+		for (int i = 0; i < levels.length; i++) {
+			levels[i] = null;
+			tags[i] = null;
+			messages[i] = null;
+		}
+		firstSequence = nextSequence;
+	}
+
+	private int index(long sequence) {
+		return (int) (sequence % levels.length);
+	}
+}
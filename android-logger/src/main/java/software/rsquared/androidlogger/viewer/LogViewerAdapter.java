@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.rsquared.androidlogger.viewer;
+
+import android.content.Context;
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.TextView;
+
+import software.rsquared.androidlogger.Level;
+import software.rsquared.androidlogger.Logger;
+
+/**
+ * Adapter of the messages collected by the {@link LogViewerAppender}, list view creates views only for the visible rows.<p>
+ * Filter is applied over the ring buffer without copying messages, the adapter keeps only sequence numbers of the matching messages.
+ * New messages are tested against the filter once, when they are added, and rows that are already bound to the message are never bound again.
+ *
+ * @author Rafal Zajfert
+ */
+@SuppressWarnings("unused")
+@MainThread
+public class LogViewerAdapter extends BaseAdapter {
+
+	@NonNull
+	private final LogViewerAppender appender;
+
+	@NonNull
+	private final LogRingBuffer buffer;
+
+	/**
+	 * Ring of sequence numbers of the messages that match the filter, oldest first
+	 */
+	@NonNull
+	private final long[] rows;
+
+	private int rowsStart;
+
+	private int rowsCount;
+
+	/**
+	 * Sequence number of the next message that should be tested against the filter
+	 */
+	private long nextSequence;
+
+	@NonNull
+	private Level minLevel = Level.VERBOSE;
+
+	@Nullable
+	private String tagFilter;
+
+	LogViewerAdapter(@NonNull LogViewerAppender appender, @NonNull LogRingBuffer buffer) {
+		this.appender = appender;
+		this.buffer = buffer;
+		this.rows = new long[buffer.getCapacity()];
+		this.nextSequence = buffer.getFirstSequence();
+		update();
+	}
+
+	/**
+	 * Show only messages with level at least minLevel and the tag containing tagFilter (ignoring case)
+	 *
+	 * @param tagFilter text that must be contained in the tag, null or empty to show all tags
+	 */
+	public void setFilter(@NonNull Level minLevel, @Nullable String tagFilter) {
+		this.minLevel = minLevel;
+		this.tagFilter = tagFilter == null || tagFilter.isEmpty() ? null : tagFilter.toLowerCase();
+		rowsStart = 0;
+		rowsCount = 0;
+		nextSequence = buffer.getFirstSequence();
+		update();
+		notifyDataSetChanged();
+	}
+
+	@NonNull
+	public Level getMinLevel() {
+		return minLevel;
+	}
+
+	@Nullable
+	public String getTagFilter() {
+		return tagFilter;
+	}
+
+	/**
+	 * Remove rows of the messages removed from the buffer and add rows of the new messages that match the filter
+	 *
+	 * @return true if rows were changed
+	 */
+	boolean update() {
+		boolean changed = false;
+		long firstSequence = buffer.getFirstSequence();
+		while (rowsCount > 0 && rows[rowsStart] < firstSequence) {
+			rowsStart = (rowsStart + 1) % rows.length;
+			rowsCount--;
+			changed = true;
+		}
+		if (nextSequence < firstSequence) {
+			nextSequence = firstSequence;
+		}
+		long lastSequence = buffer.getNextSequence();
+		for (; nextSequence < lastSequence; nextSequence++) {
+			if (matches(nextSequence)) {
+				rows[(rowsStart + rowsCount) % rows.length] = nextSequence;
+				rowsCount++;
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	private boolean matches(long sequence) {
+		if (buffer.getLevel(sequence).ordinal() < minLevel.ordinal()) {
+			return false;
+		}
+		if (tagFilter == null) {
+			return true;
+		}
+		String tag = buffer.getTag(sequence);
+		return tag != null && tag.toLowerCase().contains(tagFilter);
+	}
+
+	@Override
+	public int getCount() {
+		return rowsCount;
+	}
+
+	@Override
+	public Object getItem(int position) {
+		return buffer.getMessage(getItemId(position));
+	}
+
+	/**
+	 * Sequence number of the message displayed at the position
+	 */
+	@Override
+	public long getItemId(int position) {
+		return rows[(rowsStart + position) % rows.length];
+	}
+
+	@Override
+	public boolean hasStableIds() {
+		return true;
+	}
+
+	@Override
+	public View getView(int position, View convertView, ViewGroup parent) {
+		TextView view;
+		Row row;
+		if (convertView instanceof TextView && ((TextView) convertView).getTag() instanceof Row) {
+			view = (TextView) convertView;
+			row = (Row) view.getTag();
+		} else {
+			view = createRowView(parent.getContext());
+			row = new Row();
+			view.setTag(row);
+		}
+		long sequence = getItemId(position);
+		if (row.sequence != sequence) {
+			row.sequence = sequence;
+			bindRow(view, buffer.getLevel(sequence), buffer.getTag(sequence), buffer.getMessage(sequence));
+		}
+		return view;
+	}
+
+	/**
+	 * Create view of the single row
+	 */
+	@NonNull
+	protected TextView createRowView(@NonNull Context context) {
+		return new TextView(context);
+	}
+
+	/**
+	 * Show message in the row view, called only when the row shows a different message than before
+	 */
+	protected void bindRow(@NonNull TextView view, @NonNull Level level, @Nullable String tag, @NonNull String message) {
+		view.setText(tag == null ? message : tag + Logger.SPACE + message);
+		view.setTextColor(appender.getConfig().getColorScheme().getColor(level));
+	}
+
+	private static final class Row {
+		long sequence = -1;
+	}
+}
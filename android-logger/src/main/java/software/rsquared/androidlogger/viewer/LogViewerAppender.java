@@ -0,0 +1,193 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.rsquared.androidlogger.viewer;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.widget.AbsListView;
+import android.widget.ListView;
+
+import java.util.ArrayDeque;
+
+import software.rsquared.androidlogger.Appender;
+import software.rsquared.androidlogger.ConfigurableAppender;
+import software.rsquared.androidlogger.Level;
+
+/**
+ * Appender that keeps the last messages in the ring buffer and shows them in the {@link ListView}, which renders only the visible rows,
+ * so it can be used for tens of thousands of messages.<p>
+ * Messages can be logged on any thread, they are moved to the buffer and the list is updated on the main thread at most once per frame.
+ *
+ * @author Rafal Zajfert
+ */
+@SuppressWarnings("unused")
+public class LogViewerAppender extends Appender implements ConfigurableAppender<LogViewerAppenderConfig> {
+
+	/**
+	 * Minimum time between two updates of the list
+	 */
+	private static final long FRAME_INTERVAL = 16;
+
+	private LogViewerAppenderConfig config;
+
+	private final Object lock = new Object();
+
+	/**
+	 * Messages appended since the last update, guarded by {@link #lock}
+	 */
+	private final ArrayDeque<PendingMessage> pending = new ArrayDeque<>();
+
+	/**
+	 * True if the update is already posted, guarded by {@link #lock}
+	 */
+	private boolean updateScheduled;
+
+	@Nullable
+	private Handler handler;
+
+	/**
+	 * Buffer used on the main thread, created with the first update
+	 */
+	@Nullable
+	private LogRingBuffer buffer;
+
+	@Nullable
+	private LogViewerAdapter adapter;
+
+	private final Runnable updateTask = this::update;
+
+	public LogViewerAppender() {
+	}
+
+	@Override
+	public LogViewerAppenderConfig getConfig() {
+		if (config == null) {
+			config = new LogViewerAppenderConfig();
+		}
+		return config;
+	}
+
+	/**
+	 * Adapter that shows collected messages
+	 */
+	@MainThread
+	@NonNull
+	public LogViewerAdapter getAdapter() {
+		if (adapter == null) {
+			adapter = new LogViewerAdapter(this, getBuffer());
+		}
+		return adapter;
+	}
+
+	/**
+	 * Show messages in the list view, list scrolls to the new messages if it shows the last one
+	 */
+	@MainThread
+	public LogViewerAppender attach(@NonNull ListView listView) {
+		listView.setAdapter(getAdapter());
+		listView.setTranscriptMode(AbsListView.TRANSCRIPT_MODE_NORMAL);
+		return this;
+	}
+
+	/**
+	 * Remove all collected messages
+	 */
+	@MainThread
+	public void clear() {
+		synchronized (lock) {
+			pending.clear();
+		}
+		getBuffer().clear();
+		if (adapter != null && adapter.update()) {
+			adapter.notifyDataSetChanged();
+		}
+	}
+
+	@Override
+	protected void append(Level level, String tag, String message) {
+		int capacity = getConfig().getCapacity();
+		synchronized (lock) {
+			if (pending.size() >= capacity) {
+				// message would be removed from the buffer in the same update
+				pending.removeFirst();
+			}
+			pending.addLast(new PendingMessage(level, tag, message));
+			if (updateScheduled) {
+				return;
+			}
+			updateScheduled = true;
+		}
+		getHandler().postDelayed(updateTask, FRAME_INTERVAL);
+	}
+
+	@NonNull
+	private synchronized Handler getHandler() {
+		if (handler == null) {
+			handler = new Handler(Looper.getMainLooper());
+		}
+		return handler;
+	}
+
+	@NonNull
+	private LogRingBuffer getBuffer() {
+		if (buffer == null) {
+			buffer = new LogRingBuffer(getConfig().getCapacity());
+		}
+		return buffer;
+	}
+
+	/**
+	 * Move pending messages to the buffer and add rows for them
+	 */
+	@MainThread
+	private void update() {
+		PendingMessage[] messages;
+		synchronized (lock) {
+			updateScheduled = false;
+			messages = pending.toArray(new PendingMessage[pending.size()]);
+			pending.clear();
+		}
+		LogRingBuffer buffer = getBuffer();
+		for (PendingMessage message : messages) {
+			buffer.add(message.level, message.tag, message.message);
+		}
+		if (adapter != null && adapter.update()) {
+			adapter.notifyDataSetChanged();
+		}
+	}
+
+	private static final class PendingMessage {
+
+		@NonNull
+		final Level level;
+
+		@Nullable
+		final String tag;
+
+		@NonNull
+		final String message;
+
+		PendingMessage(@NonNull Level level, @Nullable String tag, @NonNull String message) {
+			this.level = level;
+			this.tag = tag;
+			this.message = message;
+		}
+	}
+}
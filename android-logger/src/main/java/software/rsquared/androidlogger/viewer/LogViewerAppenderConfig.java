@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 rSquared s.c. R. Orlik, R. Zajfert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.rsquared.androidlogger.viewer;
+
+import android.support.annotation.NonNull;
+
+import java.util.Map;
+
+import software.rsquared.androidlogger.AppenderConfig;
+import software.rsquared.androidlogger.textview.TextViewAppenderConfig;
+
+/**
+ * @author Rafal Zajfert
+ */
+@SuppressWarnings("unused")
+public class LogViewerAppenderConfig extends AppenderConfig<LogViewerAppenderConfig> {
+	public static final int DEFAULT_CAPACITY = 10000;
+
+	private int capacity = DEFAULT_CAPACITY;
+
+	@NonNull
+	private TextViewAppenderConfig.ColorScheme colorScheme = TextViewAppenderConfig.ColorScheme.LIGHT;
+
+	LogViewerAppenderConfig() {
+		// each message is a single row, long rows are wrapped by the view
+		setChunkSize(0);
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Maximum number of messages kept for the viewer, oldest messages are removed first.
+	 * Buffer is allocated when the first message is appended. <p>Default: <code>{@value #DEFAULT_CAPACITY}</code>
+	 */
+	public LogViewerAppenderConfig setCapacity(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be greater than 0");
+		}
+		this.capacity = capacity;
+		return this;
+	}
+
+	/**
+	 * Color scheme for the log levels
+	 */
+	@NonNull
+	public TextViewAppenderConfig.ColorScheme getColorScheme() {
+		return colorScheme;
+	}
+
+	/**
+	 * Color scheme for the log levels
+	 */
+	public LogViewerAppenderConfig setColorScheme(@NonNull TextViewAppenderConfig.ColorScheme colorScheme) {
+		this.colorScheme = colorScheme;
+		return this;
+	}
+
+	@Override
+	protected void read(@NonNull Map<String, String> config) {
+		super.read(config);
+		if (config.containsKey("capacity")) {
+			setCapacity(Integer.parseInt(config.get("capacity")));
+		}
+		if (config.containsKey("colorScheme")) {
+			String colorScheme = config.get("colorScheme");
+			if ("dark".equalsIgnoreCase(colorScheme)) {
+				setColorScheme(TextViewAppenderConfig.ColorScheme.DARK);
+			} else if ("light".equalsIgnoreCase(colorScheme)) {
+				setColorScheme(TextViewAppenderConfig.ColorScheme.LIGHT);
+			} else {
+				setColorScheme(TextViewAppenderConfig.ColorScheme.NONE);
+			}
+		}
+	}
+}
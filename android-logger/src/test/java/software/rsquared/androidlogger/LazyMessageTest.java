@@ -0,0 +1,126 @@
+package software.rsquared.androidlogger;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Rafał Zajfert
+ */
+public class LazyMessageTest {
+
+	private static final String APPENDER_ID = "LazyMessageTest";
+
+	private static final int ITERATIONS = 10000;
+
+	/**
+	 * Allocations allowed for the whole loop, e.g. for the first call or JIT compilation
+	 */
+	private static final long ALLOWED_ALLOCATED_BYTES = 16 * 1024;
+
+	private final TestAppender appender = new TestAppender();
+
+	@Before
+	public void setup() {
+		LoggerConfig.getInstance()
+				.enableDefaultAppender(false)
+				.addAppender(APPENDER_ID, appender)
+				.setLevel(Level.ERROR);
+	}
+
+	@After
+	public void tearDown() {
+		LoggerConfig.getInstance()
+				.removeAppender(APPENDER_ID)
+				.setLevel(Level.VERBOSE)
+				.enableDefaultAppender(true);
+	}
+
+	@Test
+	public void testSupplierIsNotCalledForDisabledLevel() {
+		CountingSupplier supplier = new CountingSupplier();
+		Logger.debugL(supplier);
+		Logger.verboseL(supplier);
+
+		assertEquals(0, supplier.count);
+		assertTrue(appender.messages.isEmpty());
+	}
+
+	@Test
+	public void testSupplierIsCalledOnceForEnabledLevel() {
+		CountingSupplier supplier = new CountingSupplier();
+		Logger.errorL(supplier);
+
+		assertEquals(1, supplier.count);
+		assertEquals(1, appender.messages.size());
+		assertEquals("message", appender.messages.get(0));
+	}
+
+	@Test
+	public void testFormatIsDeferred() {
+		Logger.errorF("%s=%d", "value", 1);
+		Logger.error("a", "b", 2);
+
+		assertEquals("value=1", appender.messages.get(0));
+		assertEquals("a" + LoggerConfig.getInstance().getSeparator() + "b" + LoggerConfig.getInstance().getSeparator() + "2", appender.messages.get(1));
+	}
+
+	@Test
+	public void testDisabledLevelDoesNotAllocate() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+		Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		Object[] args = {"value", 1};
+		CountingSupplier supplier = new CountingSupplier();
+		// warm up
+		logDisabled(args, supplier);
+
+		long threadId = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < ITERATIONS; i++) {
+			logDisabled(args, supplier);
+		}
+		long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+		assertTrue("Allocated " + allocated + " bytes", allocated < ALLOWED_ALLOCATED_BYTES);
+		assertEquals(0, supplier.count);
+		assertTrue(appender.messages.isEmpty());
+	}
+
+	private static void logDisabled(Object[] args, MessageSupplier supplier) {
+		Logger.debugF("%s=%d", args);
+		Logger.verbose(args);
+		Logger.debugL(supplier);
+	}
+
+	private static class CountingSupplier implements MessageSupplier {
+		int count;
+
+		@Override
+		public Object get() {
+			count++;
+			return "message";
+		}
+	}
+
+	private static class TestAppender extends Appender {
+		final List<String> messages = new ArrayList<>();
+
+		@Override
+		protected void append(Level level, String tag, String message) {
+			messages.add(message);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package software.rsquared.androidlogger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Rafał Zajfert
+ */
+public class LevelTableTest {
+
+	@Test
+	public void testAllLevelsAreEnabledByDefault() {
+		LevelTable table = new TestConfig().getLevelTable();
+
+		for (Level level : Level.values()) {
+			assertTrue(table.isEnabled(level));
+			assertEquals(level, table.map(level));
+		}
+	}
+
+	@Test
+	public void testLevelsBelowMinimalLevelAreDisabled() {
+		LevelTable table = new TestConfig().setLevel(Level.INFO).getLevelTable();
+
+		for (Level level : Level.values()) {
+			assertEquals(level.ordinal() >= Level.INFO.ordinal(), table.isEnabled(level));
+		}
+	}
+
+	@Test
+	public void testOverwrittenLevelIsComparedWithMinimalLevel() {
+		LevelTable table = new TestConfig()
+				.setLevel(Level.INFO)
+				.overwriteLevel(Level.DEBUG, Level.ERROR)
+				.overwriteLevel(Level.ERROR, Level.VERBOSE)
+				.getLevelTable();
+
+		assertTrue(table.isEnabled(Level.DEBUG));
+		assertEquals(Level.ERROR, table.map(Level.DEBUG));
+		assertFalse(table.isEnabled(Level.ERROR));
+		assertEquals(Level.VERBOSE, table.map(Level.ERROR));
+		assertFalse(table.isEnabled(Level.VERBOSE));
+		assertEquals(Level.VERBOSE, table.map(Level.VERBOSE));
+	}
+
+	@Test
+	public void testTableIsCompiledAgainWhenLevelsChange() {
+		TestConfig config = new TestConfig().overwriteLevel(Level.VERBOSE, Level.WARNING);
+		assertEquals(Level.WARNING, config.getLevelTable().map(Level.VERBOSE));
+
+		config.removeLevelOverwriting(Level.VERBOSE).setLevel(Level.ERROR);
+		LevelTable table = config.getLevelTable();
+		assertEquals(Level.VERBOSE, table.map(Level.VERBOSE));
+		assertFalse(table.isEnabled(Level.WARNING));
+		assertTrue(table.isEnabled(Level.ERROR));
+	}
+
+	@Test
+	public void testGlobalLevelIsOverwrittenBeforeAppenderLevel() {
+		LevelTable global = new TestConfig()
+				.overwriteLevel(Level.VERBOSE, Level.DEBUG)
+				.overwriteLevel(Level.INFO, Level.WARNING)
+				.getLevelTable();
+		LevelTable appender = new TestConfig()
+				.setLevel(Level.INFO)
+				.overwriteLevel(Level.DEBUG, Level.INFO)
+				.getLevelTable();
+
+		LevelTable table = LevelTable.combine(global, appender);
+		assertEquals(Level.INFO, table.map(Level.VERBOSE));
+		assertTrue(table.isEnabled(Level.VERBOSE));
+		assertEquals(Level.INFO, table.map(Level.DEBUG));
+		assertTrue(table.isEnabled(Level.DEBUG));
+		assertEquals(Level.WARNING, table.map(Level.INFO));
+		assertEquals(Level.ERROR, table.map(Level.ERROR));
+	}
+
+	@Test
+	public void testLevelMustBeEnabledInBothTables() {
+		LevelTable global = new TestConfig().setLevel(Level.WARNING).getLevelTable();
+		LevelTable appender = new TestConfig()
+				.setLevel(Level.DEBUG)
+				.overwriteLevel(Level.ERROR, Level.VERBOSE)
+				.getLevelTable();
+
+		LevelTable table = LevelTable.combine(global, appender);
+		assertFalse(table.isEnabled(Level.VERBOSE));
+		assertFalse(table.isEnabled(Level.DEBUG));
+		assertFalse(table.isEnabled(Level.INFO));
+		assertTrue(table.isEnabled(Level.WARNING));
+		assertFalse(table.isEnabled(Level.ERROR));
+	}
+
+	private static class TestConfig extends AppenderConfig<TestConfig> {
+	}
+}
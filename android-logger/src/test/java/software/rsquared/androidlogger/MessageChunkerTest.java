@@ -0,0 +1,75 @@
+package software.rsquared.androidlogger;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Rafał Zajfert
+ */
+public class MessageChunkerTest {
+
+	private static final String EMOJI = "😀";
+
+	@Test
+	public void testShortTextIsNotSplit() {
+		assertEquals(5, MessageChunker.nextChunkEnd("short", 0, 5));
+		assertEquals(5, MessageChunker.nextChunkEnd("short", 2, 3));
+	}
+
+	@Test
+	public void testChunkEndsAfterLastWhitespace() {
+		assertEquals(4, MessageChunker.nextChunkEnd("aaa bbb ccc", 0, 6));
+		assertEquals(8, MessageChunker.nextChunkEnd("aaa bbb ccc", 4, 6));
+		assertEquals(4, MessageChunker.nextChunkEnd("aaa\nbbb ccc", 0, 6));
+	}
+
+	@Test
+	public void testLongWordIsSplitAtChunkSize() {
+		assertEquals(4, MessageChunker.nextChunkEnd("abcdefghij", 0, 4));
+		// whitespace at the start of the chunk would give an empty chunk
+		assertEquals(5, MessageChunker.nextChunkEnd(" abcdefghij", 1, 4));
+	}
+
+	@Test
+	public void testCharactersAreCountedNotBytes() {
+		assertEquals(4, MessageChunker.nextChunkEnd("zażółć", 0, 4));
+	}
+
+	@Test
+	public void testSurrogatePairIsNotSplit() {
+		String text = "abc" + EMOJI + "def";
+
+		assertEquals(3, MessageChunker.nextChunkEnd(text, 0, 4));
+		assertEquals(5, MessageChunker.nextChunkEnd(text, 0, 5));
+		assertEquals(5, MessageChunker.nextChunkEnd(text, 3, 2));
+	}
+
+	@Test
+	public void testChunksCoverWholeText() {
+		Random random = new Random(0);
+		String[] words = {"a", "word", "zażółć", EMOJI, EMOJI + EMOJI + "x", "longerwordwithoutspaces"};
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 500; i++) {
+			builder.append(words[random.nextInt(words.length)]).append(random.nextInt(5) == 0 ? '\n' : ' ');
+		}
+		String text = builder.toString();
+
+		for (int maxLength = 2; maxLength < 40; maxLength++) {
+			StringBuilder joined = new StringBuilder();
+			int start = 0;
+			while (start < text.length()) {
+				int end = MessageChunker.nextChunkEnd(text, start, maxLength);
+				assertTrue(end > start && end - start <= maxLength);
+				assertFalse(Character.isHighSurrogate(text.charAt(end - 1)));
+				joined.append(text, start, end);
+				start = end;
+			}
+			assertEquals(text, joined.toString());
+		}
+	}
+}
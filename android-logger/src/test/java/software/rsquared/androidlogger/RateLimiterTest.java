@@ -0,0 +1,141 @@
+package software.rsquared.androidlogger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Rafał Zajfert
+ */
+public class RateLimiterTest {
+
+	private static final String TAG = "RateLimiterTest";
+
+	private static final String OTHER_TAG = "RateLimiterTest.other";
+
+	private final TestClock clock = new TestClock();
+
+	@After
+	public void tearDown() {
+		LoggerConfig.getInstance()
+				.removeRateLimit(TAG)
+				.removeRateLimit(OTHER_TAG);
+	}
+
+	@Test
+	public void testWindowIsRefilledInTheNextSecond() {
+		RateLimiter limiter = RateLimiter.perSecond(3, clock);
+		clock.time = 1000;
+
+		assertEquals(3, acquire(limiter, 5));
+		clock.time = 1999;
+		assertFalse(limiter.tryAcquire());
+		clock.time = 2000;
+		assertEquals(3, acquire(limiter, 4));
+		assertEquals(4, limiter.getDroppedCount());
+	}
+
+	@Test
+	public void testWindowIsNotResetByEarlierTime() {
+		RateLimiter limiter = RateLimiter.perSecond(1, clock);
+		clock.time = 5000;
+		assertTrue(limiter.tryAcquire());
+
+		// thread that read the time before the window was moved
+		clock.time = 4999;
+		assertFalse(limiter.tryAcquire());
+		assertEquals(1, limiter.getDroppedCount());
+	}
+
+	@Test
+	public void testSamplingAllowsEveryKthMessage() {
+		RateLimiter limiter = RateLimiter.sampling(4);
+
+		for (int i = 0; i < 20; i++) {
+			assertEquals(i % 4 == 0, limiter.tryAcquire());
+		}
+		assertEquals(15, limiter.getDroppedCount());
+	}
+
+	@Test
+	public void testTagsAreLimitedSeparately() {
+		LoggerConfig config = LoggerConfig.getInstance()
+				.setRateLimit(TAG, RateLimiter.perSecond(1, clock))
+				.setRateLimit(OTHER_TAG, RateLimiter.perSecond(1, clock));
+		Tag tag = new Tag(TAG);
+		Tag otherTag = new Tag(OTHER_TAG);
+
+		assertTrue(config.tryAcquire(tag));
+		assertFalse(config.tryAcquire(tag));
+		assertTrue(config.tryAcquire(otherTag));
+		assertFalse(config.tryAcquire(otherTag));
+		for (int i = 0; i < 10; i++) {
+			assertTrue(config.tryAcquire(new Tag("RateLimiterTest.unlimited")));
+		}
+	}
+
+	@Test
+	public void testLimiterOfTheTagOverridesConfiguration() {
+		LoggerConfig config = LoggerConfig.getInstance().setRateLimit(TAG, RateLimiter.perSecond(1, clock));
+		Tag tag = Tag.create(TAG, RateLimiter.perSecond(2, clock));
+
+		assertEquals(2, acquire(config, tag, 5));
+		assertTrue(config.tryAcquire(new Tag(TAG)));
+	}
+
+	@Test
+	public void testParse() {
+		RateLimiter limiter = RateLimiter.parse(" 2/s ");
+		assertTrue(limiter.tryAcquire());
+		assertTrue(limiter.tryAcquire());
+
+		limiter = RateLimiter.parse("1/3");
+		assertEquals(1, acquire(limiter, 3));
+
+		assertInvalid("2/3");
+		assertInvalid("s");
+		assertInvalid("0/s");
+	}
+
+	private static int acquire(RateLimiter limiter, int count) {
+		int acquired = 0;
+		for (int i = 0; i < count; i++) {
+			if (limiter.tryAcquire()) {
+				acquired++;
+			}
+		}
+		return acquired;
+	}
+
+	private static int acquire(LoggerConfig config, Tag tag, int count) {
+		int acquired = 0;
+		for (int i = 0; i < count; i++) {
+			if (config.tryAcquire(tag)) {
+				acquired++;
+			}
+		}
+		return acquired;
+	}
+
+	private static void assertInvalid(String value) {
+		try {
+			RateLimiter.parse(value);
+		} catch (IllegalArgumentException e) {
+			return;
+		}
+		throw new AssertionError("Rate limit is valid: " + value);
+	}
+
+	private static class TestClock implements RateLimiter.Clock {
+
+		long time;
+
+		@Override
+		public long elapsedRealtime() {
+			return time;
+		}
+	}
+}
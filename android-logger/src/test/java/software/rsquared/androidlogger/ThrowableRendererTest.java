@@ -0,0 +1,83 @@
+package software.rsquared.androidlogger;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Rafał Zajfert
+ */
+public class ThrowableRendererTest {
+
+	private final ThrowableRenderer renderer = new ThrowableRenderer(0, new String[0]);
+
+	@Test
+	public void testThrowableWithoutCause() {
+		assertRenderedAsPrintStackTrace(new IllegalStateException("message"));
+	}
+
+	@Test
+	public void testNestedCausesWithCommonFrames() {
+		Throwable throwable = createNested(3);
+		assertTrue(throwable.getCause().getCause() != null);
+
+		assertRenderedAsPrintStackTrace(throwable);
+	}
+
+	@Test
+	public void testSuppressedThrowables() {
+		Exception throwable = new Exception("main", createNested(1));
+		throwable.addSuppressed(new IllegalArgumentException("first"));
+		Throwable suppressed = createNested(2);
+		suppressed.addSuppressed(new IOException("nested suppressed"));
+		throwable.addSuppressed(suppressed);
+
+		assertRenderedAsPrintStackTrace(throwable);
+	}
+
+	@Test
+	public void testCircularReference() {
+		Exception first = new Exception("first");
+		Exception second = new Exception("second", first);
+		first.initCause(second);
+
+		assertRenderedAsPrintStackTrace(first);
+	}
+
+	@Test
+	public void testMaxDepthAndExcludedPackages() {
+		Throwable throwable = new IllegalStateException("message");
+		StackTraceElement[] trace = throwable.getStackTrace();
+		String text = new ThrowableRenderer(1, new String[]{ThrowableRendererTest.class.getName()}).render(throwable);
+
+		String expected = throwable + "\n"
+				+ "\t... 1 excluded frame\n"
+				+ "\tat " + trace[1] + "\n"
+				+ "\t... " + (trace.length - 2) + " more\n";
+		assertEquals(expected, text);
+	}
+
+	/**
+	 * Throwable with <code>depth</code> causes, each created one call deeper than the throwable it causes
+	 */
+	private static Throwable createNested(int depth) {
+		if (depth == 0) {
+			return new IllegalStateException("root");
+		}
+		Throwable cause = createNested(depth - 1);
+		return new RuntimeException("depth " + depth, cause);
+	}
+
+	private void assertRenderedAsPrintStackTrace(Throwable throwable) {
+		StringWriter writer = new StringWriter();
+		throwable.printStackTrace(new PrintWriter(writer));
+		String expected = writer.toString().replace(System.getProperty("line.separator"), "\n");
+
+		assertEquals(expected, renderer.render(throwable));
+	}
+}
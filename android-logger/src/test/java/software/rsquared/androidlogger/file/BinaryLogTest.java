@@ -0,0 +1,198 @@
+package software.rsquared.androidlogger.file;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import software.rsquared.androidlogger.Logger;
+import software.rsquared.androidlogger.LoggerConfig;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Rafal Zajfert
+ */
+public class BinaryLogTest {
+
+    private static final String TEXT_APPENDER_ID = "BinaryLogTest.text";
+
+    private static final String BINARY_APPENDER_ID = "BinaryLogTest.binary";
+
+    private static final String TAG = "$ShortLevel$ $MethodName$";
+
+    private File dir;
+
+    private File textFile;
+
+    private File binaryFile;
+
+    private FileAppender textAppender;
+
+    private BinaryFileAppender binaryAppender;
+
+    @Before
+    public void setup() throws IOException {
+        dir = File.createTempFile("binary", "log");
+        assertTrue(dir.delete() && dir.mkdirs());
+        textFile = new File(dir, "log.txt");
+        binaryFile = new File(dir, "log.bin");
+
+        textAppender = new FileAppender();
+        textAppender.getConfig().setLogFile(textFile).setTag(TAG);
+        binaryAppender = createBinaryAppender();
+        LoggerConfig.getInstance()
+                .enableDefaultAppender(false)
+                .addAppender(TEXT_APPENDER_ID, textAppender)
+                .addAppender(BINARY_APPENDER_ID, binaryAppender);
+    }
+
+    @After
+    public void tearDown() {
+        LoggerConfig.getInstance()
+                .removeAppender(TEXT_APPENDER_ID)
+                .removeAppender(BINARY_APPENDER_ID)
+                .enableDefaultAppender(true);
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                assertTrue(file.delete());
+            }
+        }
+        assertTrue(dir.delete());
+    }
+
+    @Test
+    public void testDecodedFileEqualsTextFile() throws IOException {
+        logMessages(0, 100);
+
+        assertEquals(readLines(textFile), decode(binaryFile));
+    }
+
+    @Test
+    public void testTruncatedRecordIsIgnored() throws IOException {
+        logMessages(0, 100);
+        List<String> lines = readLines(textFile);
+        truncate(binaryFile, 3);
+
+        assertEquals(lines.subList(0, lines.size() - 1), decode(binaryFile));
+    }
+
+    @Test
+    public void testTruncatedRecordIsRemovedWhenFileIsOpened() throws IOException {
+        logMessages(0, 100);
+        List<String> expected = new ArrayList<>(readLines(textFile));
+        expected.remove(expected.size() - 1);
+        // process killed in the middle of the last record, the next session appends to the same file
+        truncate(binaryFile, 3);
+        binaryAppender = createBinaryAppender();
+        LoggerConfig.getInstance().addAppender(BINARY_APPENDER_ID, binaryAppender);
+        textAppender.clearLogFile();
+
+        logMessages(100, 200);
+        expected.addAll(readLines(textFile));
+
+        assertEquals(expected, decode(binaryFile));
+    }
+
+    @Test
+    public void testBufferedMessagesAreWrittenWhenAppenderIsRemoved() throws IOException {
+        binaryAppender.getConfig().setBufferedWrite(true).setFlushInterval(0);
+        for (int i = 0; i < 10; i++) {
+            Logger.info("message " + i);
+        }
+        assertEquals(0, binaryFile.length());
+
+        LoggerConfig.getInstance().removeAppender(BINARY_APPENDER_ID);
+        assertEquals(readLines(textFile), decode(binaryFile));
+    }
+
+    @Test
+    public void testMessageWithoutTag() throws IOException {
+        BinaryLogFormat.RecordBuilder output = new BinaryLogFormat.RecordBuilder();
+        BinaryLogFormat.RecordBuilder record = new BinaryLogFormat.RecordBuilder();
+        record.writeByte(BinaryLogFormat.RECORD_START);
+        record.writeBytes(BinaryLogFormat.MAGIC);
+        record.writeByte(BinaryLogFormat.VERSION);
+        output.writeRecord(record);
+        record.reset();
+        record.writeByte(BinaryLogFormat.RECORD_EVENT);
+        record.writeSignedVarint(1000);
+        record.writeByte(0);
+        record.writeVarint(0);
+        record.writeVarint(0);
+        record.writeBytes("message".getBytes(BinaryLogFormat.UTF_8));
+        output.writeRecord(record);
+
+        BinaryLogDecoder decoder = new BinaryLogDecoder(new ByteArrayInputStream(Arrays.copyOf(output.bytes(), output.length())));
+        assertTrue(decoder.next());
+        assertEquals("message", decoder.render());
+        assertFalse(decoder.next());
+    }
+
+    private BinaryFileAppender createBinaryAppender() {
+        BinaryFileAppender appender = new BinaryFileAppender();
+        appender.getConfig().setLogFile(binaryFile).setTag(TAG);
+        return appender;
+    }
+
+    private void logMessages(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (i % 3 == 0) {
+                Logger.info("zażółć gęślą jaźń " + i);
+            } else if (i % 3 == 1) {
+                Logger.debug("message " + i);
+            } else {
+                Logger.error("error " + i);
+            }
+        }
+        LoggerConfig.getInstance().flush();
+    }
+
+    private static void truncate(File file, int count) throws IOException {
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.setLength(out.length() - count);
+        }
+    }
+
+    private static List<String> decode(File file) throws IOException {
+        StringWriter out = new StringWriter();
+        try (BinaryLogDecoder decoder = new BinaryLogDecoder(new FileInputStream(file))) {
+            decoder.decode(out);
+        }
+        return split(out.toString());
+    }
+
+    private static List<String> readLines(File file) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        try (Reader in = new InputStreamReader(new FileInputStream(file), BinaryLogFormat.UTF_8)) {
+            char[] buffer = new char[4096];
+            int count;
+            while ((count = in.read(buffer)) >= 0) {
+                builder.append(buffer, 0, count);
+            }
+        }
+        return split(builder.toString());
+    }
+
+    private static List<String> split(String text) {
+        List<String> lines = new ArrayList<>(Arrays.asList(text.split(Logger.NEW_LINE)));
+        if (lines.size() == 1 && lines.get(0).isEmpty()) {
+            lines.clear();
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,155 @@
+package software.rsquared.androidlogger.file;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import software.rsquared.androidlogger.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Rafal Zajfert
+ */
+public class JournalTest {
+
+    private static final int JOURNAL_SIZE = 1024;
+
+    /**
+     * Size of the header and payload of the record written by {@link #write(Journal, int, int)}
+     */
+    private static final int RECORD_SIZE = 20 + 8;
+
+    private File dir;
+
+    private File file;
+
+    @Before
+    public void setup() throws IOException {
+        dir = File.createTempFile("journal", "log");
+        assertTrue(dir.delete() && dir.mkdirs());
+        file = new File(dir, "journal.log");
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                assertTrue(file.delete());
+            }
+        }
+        assertTrue(dir.delete());
+    }
+
+    @Test
+    public void testRecordsAreReadAfterReopen() throws IOException {
+        try (Journal journal = Journal.open(file, JOURNAL_SIZE)) {
+            write(journal, 0, 3);
+        }
+
+        assertEquals(records(0, 3), Journal.read(file));
+        try (Journal journal = Journal.open(file, JOURNAL_SIZE)) {
+            write(journal, 3, 5);
+            assertEquals(records(0, 5), journal.read());
+        }
+    }
+
+    @Test
+    public void testTornLastRecordIsOverwritten() throws IOException {
+        try (Journal journal = Journal.open(file, JOURNAL_SIZE)) {
+            write(journal, 0, 3);
+        }
+        // the process was killed before the end of the last payload reached the page
+        overwrite(2 * RECORD_SIZE + RECORD_SIZE - 2, new byte[2]);
+
+        assertEquals(records(0, 2), Journal.read(file));
+        try (Journal journal = Journal.open(file, JOURNAL_SIZE)) {
+            write(journal, 3, 4);
+        }
+        List<String> expected = records(0, 2);
+        expected.addAll(records(3, 4));
+        assertEquals(expected, Journal.read(file));
+    }
+
+    @Test
+    public void testRecordWithCrcMismatchIsSkipped() throws IOException {
+        try (Journal journal = Journal.open(file, JOURNAL_SIZE)) {
+            write(journal, 0, 3);
+        }
+        overwrite(RECORD_SIZE + 20, new byte[]{'X'});
+
+        List<String> expected = records(0, 1);
+        expected.addAll(records(2, 3));
+        assertEquals(expected, Journal.read(file));
+    }
+
+    @Test
+    public void testOldestRecordsAreOverwrittenWhenJournalIsFull() throws IOException {
+        int count = 3 * JOURNAL_SIZE / RECORD_SIZE;
+        try (Journal journal = Journal.open(file, JOURNAL_SIZE)) {
+            write(journal, 0, count);
+        }
+        List<String> records = Journal.read(file);
+        assertFalse(records.isEmpty());
+        assertEquals(records(count - records.size(), count), records);
+
+        try (Journal journal = Journal.open(file, JOURNAL_SIZE)) {
+            write(journal, count, count + 1);
+            records = journal.read();
+        }
+        assertEquals(records(count + 1 - records.size(), count + 1), records);
+    }
+
+    @Test
+    public void testAppenderMapsNewFileWhenLogFileChanges() throws IOException {
+        File otherFile = new File(dir, "other.log");
+        JournalFileAppender appender = new JournalFileAppender();
+        appender.getConfig().setJournalSize(JournalFileAppenderConfig.MIN_JOURNAL_SIZE).setLogFile(file).setTag("Tag");
+        Logger logger = Logger.createWith(appender);
+
+        logger.i("first");
+        appender.getConfig().setLogFile(otherFile);
+        logger.i("second");
+        appender.closeWriter();
+
+        assertEquals(Arrays.asList("Tag first"), JournalFileAppender.readJournal(file));
+        assertEquals(Arrays.asList("Tag second"), JournalFileAppender.readJournal(otherFile));
+    }
+
+    private static void write(Journal journal, int from, int to) {
+        for (int i = from; i < to; i++) {
+            journal.write(record(i).getBytes(Journal.UTF_8));
+        }
+    }
+
+    private static String record(int index) {
+        return String.format("record%02d", index % 100);
+    }
+
+    private static List<String> records(int from, int to) {
+        List<String> records = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            records.add(record(i));
+        }
+        return records;
+    }
+
+    private void overwrite(int position, byte[] bytes) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            FileChannel channel = randomAccessFile.getChannel();
+            channel.write(ByteBuffer.wrap(bytes), position);
+        }
+    }
+}
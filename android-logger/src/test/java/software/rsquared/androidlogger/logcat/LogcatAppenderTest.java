@@ -0,0 +1,89 @@
+package software.rsquared.androidlogger.logcat;
+
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Rafal Zajfert
+ */
+public class LogcatAppenderTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final String EMOJI = "😀";
+
+    @Test
+    public void testEncodedLength() {
+        assertEquals(3, LogcatAppender.getEncodedLength("abc"));
+        assertEquals(2, LogcatAppender.getEncodedLength("ż"));
+        assertEquals(3, LogcatAppender.getEncodedLength("€"));
+        assertEquals(4, LogcatAppender.getEncodedLength(EMOJI));
+        String text = "zażółć gęślą jaźń € " + EMOJI;
+        assertEquals(text.getBytes(UTF_8).length, LogcatAppender.getEncodedLength(text));
+    }
+
+    @Test
+    public void testTextThatFitsIsNotSplit() {
+        assertEquals(3, LogcatAppender.nextChunkEnd("abc", 0, 3, true));
+        assertEquals(2, LogcatAppender.nextChunkEnd("żż", 0, 4, true));
+    }
+
+    @Test
+    public void testChunkEndsBeforeMultiByteCharacterThatDoesNotFit() {
+        assertEquals(2, LogcatAppender.nextChunkEnd("aażb", 0, 3, false));
+        assertEquals(3, LogcatAppender.nextChunkEnd("aażb", 0, 4, false));
+        assertEquals(1, LogcatAppender.nextChunkEnd("€€", 0, 5, false));
+        assertEquals(2, LogcatAppender.nextChunkEnd("€€", 1, 5, false));
+    }
+
+    @Test
+    public void testSurrogatePairIsNotSplit() {
+        String text = "ab" + EMOJI + "c";
+
+        assertEquals(2, LogcatAppender.nextChunkEnd(text, 0, 5, false));
+        assertEquals(4, LogcatAppender.nextChunkEnd(text, 0, 6, false));
+        assertEquals(4, LogcatAppender.nextChunkEnd(text, 2, 4, false));
+    }
+
+    @Test
+    public void testCharacterLongerThanChunkIsNotSkipped() {
+        assertEquals(2, LogcatAppender.nextChunkEnd(EMOJI + "a", 0, 2, false));
+        assertEquals(1, LogcatAppender.nextChunkEnd("ża", 0, 1, false));
+    }
+
+    @Test
+    public void testChunkEndsAfterLastWhitespace() {
+        assertEquals(3, LogcatAppender.nextChunkEnd("ab cd", 0, 4, true));
+        assertEquals(4, LogcatAppender.nextChunkEnd("ab cd", 0, 4, false));
+        assertEquals(2, LogcatAppender.nextChunkEnd("ż ż ż", 0, 5, true));
+        assertEquals(4, LogcatAppender.nextChunkEnd("ż ż ż", 0, 6, true));
+    }
+
+    @Test
+    public void testChunkIsFilledToByteLimit() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            builder.append('€');
+        }
+        String text = builder.toString();
+
+        // 3-byte characters: 1333 of them fit into 4000 bytes, the rest fits into the next chunk
+        int end = LogcatAppender.nextChunkEnd(text, 0, 4000, true);
+        assertEquals(1333, end);
+        assertEquals(3999, LogcatAppender.getEncodedLength(text.substring(0, end)));
+        assertEquals(text.length(), LogcatAppender.nextChunkEnd(text, end, 4000, true));
+    }
+
+    @Test
+    public void testWhitespaceIsFoundByEncodedLength() {
+        // 7 characters, but the second word doesn't fit into 9 bytes
+        String text = "żżż żżż";
+
+        assertEquals(4, LogcatAppender.nextChunkEnd(text, 0, 9, true));
+        assertEquals(5, LogcatAppender.nextChunkEnd(text, 0, 9, false));
+        assertEquals(text.length(), LogcatAppender.nextChunkEnd(text, 0, 13, true));
+    }
+}